@@ -0,0 +1,144 @@
+package gr.aueb.cf.webstore.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.aueb.cf.webstore.authentication.AuthTokenStore;
+import gr.aueb.cf.webstore.core.enums.AuthTokenType;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis memory for one million pending auth artifacts on an embedded Redis, reported as the
+ * {@code bytesPerEntry} secondary result next to the time taken to write them. "two-factor" is the hash
+ * plus latest-token key TwoFactorService writes now, "token" an email-verification or password-reset
+ * token from AuthTokenStore; the "-legacy" variants are the JSON strings and UUID keys they replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class AuthTokenMemoryBenchmark {
+
+    private static final int ENTRIES = 1_000_000;
+    private static final int BATCH = 10_000;
+    private static final int REDIS_PORT = 6392;
+    private static final long TTL_SECONDS = 900;
+
+    @Param({"two-factor", "two-factor-legacy", "token", "token-legacy"})
+    private String format;
+
+    private RedisServer redis;
+    private ConfigurableApplicationContext context;
+    private AuthTokenStore tokenStore;
+    private StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private record LegacyTwoFactorEntry(String email, String code) {}
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Memory {
+        public long bytesPerEntry;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        redis = new RedisServer(REDIS_PORT);
+        redis.start();
+
+        context = BenchmarkContext.start("spring.data.redis.port=" + REDIS_PORT);
+        tokenStore = context.getBean(AuthTokenStore.class);
+        redisTemplate = context.getBean(StringRedisTemplate.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void flush() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        redis.stop();
+    }
+
+    @Benchmark
+    public void writeMillion(Memory memory) {
+        long before = usedMemory();
+
+        for (int start = 0; start < ENTRIES; start += BATCH) {
+            int from = start;
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection commands = (StringRedisConnection) connection;
+                for (int i = from; i < from + BATCH; i++) {
+                    write(commands, "user-" + i + "@bench.local");
+                }
+                return null;
+            });
+        }
+
+        memory.bytesPerEntry = (usedMemory() - before) / ENTRIES;
+    }
+
+    private void write(StringRedisConnection commands, String email) {
+        switch (format) {
+            case "two-factor" -> {
+                String tag = tokenStore.slotTag(email);
+                String secret = tokenStore.newToken();
+                String key = tokenStore.key(AuthTokenType.TWO_FACTOR, tag, secret);
+                commands.hMSet(key, Map.of("e", email, "c", "123456", "a", "0"));
+                commands.expire(key, TTL_SECONDS);
+                commands.setEx(tokenStore.key(AuthTokenType.TWO_FACTOR_LATEST, tag, ""), TTL_SECONDS, tag + "." + secret);
+            }
+            case "two-factor-legacy" -> {
+                String token = UUID.randomUUID().toString();
+                commands.setEx("2fa:" + token, TTL_SECONDS, json(new LegacyTwoFactorEntry(email, "123456")));
+                commands.setEx("2fa:email:" + email, TTL_SECONDS, token);
+            }
+            case "token" -> commands.setEx(tokenStore.key(AuthTokenType.EMAIL_VERIFICATION, tokenStore.newToken()), TTL_SECONDS, email);
+            case "token-legacy" -> commands.setEx("email-verification:" + UUID.randomUUID(), TTL_SECONDS, email);
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        }
+    }
+
+    private String json(LegacyTwoFactorEntry entry) {
+        try {
+            return objectMapper.writeValueAsString(entry);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long usedMemory() {
+        Properties info = redisTemplate.execute((RedisCallback<Properties>) connection -> connection.serverCommands().info("memory"));
+        return Long.parseLong(info.getProperty("used_memory"));
+    }
+}
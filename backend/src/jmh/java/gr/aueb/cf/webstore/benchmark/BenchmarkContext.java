@@ -0,0 +1,22 @@
+package gr.aueb.cf.webstore.benchmark;
+
+import gr.aueb.cf.webstore.WebstoreApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the application on the in-memory "test" profile for JMH state objects.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(WebstoreApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN", "logging.level.gr.aueb.cf=WARN",
+                        "spring.data.redis.repositories.enabled=false")
+                .properties(properties)
+                .run("--spring.profiles.active=test");
+    }
+}
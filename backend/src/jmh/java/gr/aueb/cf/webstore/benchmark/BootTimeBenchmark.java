@@ -0,0 +1,103 @@
+package gr.aueb.cf.webstore.benchmark;
+
+import gr.aueb.cf.webstore.model.Category;
+import gr.aueb.cf.webstore.repository.CategoryRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application boot against an already migrated and populated database: Flyway with
+ * {@code ddl-auto=validate} against the old {@code ddl-auto=update} with Flyway off. Each param
+ * gets its own database, migrated and filled once per trial, so every measured boot is a restart.
+ * Pass {@code -jvmArgsAppend -Dspring.datasource.url=...} to measure against MySQL instead of H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BootTimeBenchmark {
+
+    private static final int PRODUCTS = 20_000;
+    private static final int BATCH = 1000;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO `products` (`sku`, `name`, `description`, `price`, `stock`, `is_active`, `brand`, `category_id`, `created_at`, `updated_at`)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    @Param({"flyway-validate", "ddl-update"})
+    private String schema;
+
+    private String[] properties;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = System.getProperty("spring.datasource.url",
+                "jdbc:h2:mem:boot-" + schema + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=LOW;DB_CLOSE_DELAY=-1;IGNORECASE=TRUE");
+
+        properties = schema.equals("ddl-update")
+                ? new String[] {"spring.datasource.url=" + url, "spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=update"}
+                : new String[] {"spring.datasource.url=" + url};
+
+        try (ConfigurableApplicationContext seed = BenchmarkContext.start("spring.datasource.url=" + url)) {
+            populate(seed);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void close() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext boot() {
+        context = BenchmarkContext.start(properties);
+        return context;
+    }
+
+    private static void populate(ConfigurableApplicationContext context) {
+        Category category = context.getBean(CategoryRepository.class).save(Category.builder()
+                .name("bench-boot")
+                .isActive(true)
+                .products(new HashSet<>())
+                .build());
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Timestamp now = Timestamp.from(Instant.now());
+
+        for (int start = 0; start < PRODUCTS; start += BATCH) {
+            List<Object[]> rows = new ArrayList<>(BATCH);
+            for (int i = start; i < start + BATCH; i++) {
+                rows.add(new Object[] {"BENCH-BOOT-" + i, "Boot product " + i, "Boot product " + i, new BigDecimal("9.90"), 10, true,
+                        "Brand " + (i % 40), category.getId(), now, now});
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+}
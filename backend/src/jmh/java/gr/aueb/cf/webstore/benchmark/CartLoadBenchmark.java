@@ -0,0 +1,93 @@
+package gr.aueb.cf.webstore.benchmark;
+
+import gr.aueb.cf.webstore.model.Category;
+import gr.aueb.cf.webstore.model.Product;
+import gr.aueb.cf.webstore.repository.CategoryRepository;
+import gr.aueb.cf.webstore.repository.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cart resolution latency by cart size: one findById per line (the old createOrder loop)
+ * against the single findAllByIdIn query createOrder uses now.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CartLoadBenchmark {
+
+    @Param({"1", "10", "30", "100"})
+    private int cartSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private TransactionTemplate transactionTemplate;
+    private List<Long> cart;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        productRepository = context.getBean(ProductRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        Category category = context.getBean(CategoryRepository.class).save(Category.builder()
+                .name("bench-cart-" + cartSize)
+                .isActive(true)
+                .products(new HashSet<>())
+                .build());
+
+        cart = new ArrayList<>(cartSize);
+        for (int i = 0; i < cartSize; i++) {
+            cart.add(productRepository.save(Product.builder()
+                    .category(category)
+                    .name("Cart product " + i)
+                    .price(new BigDecimal("19.90"))
+                    .stock(1_000_000)
+                    .isActive(true)
+                    .sku("BENCH-CART-" + cartSize + "-" + i)
+                    .productSpecs(new HashSet<>())
+                    .build()).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Product> findByIdPerLine() {
+        return transactionTemplate.execute(status -> {
+            List<Product> products = new ArrayList<>(cart.size());
+            for (Long id : cart) products.add(productRepository.findById(id).orElseThrow());
+            return products;
+        });
+    }
+
+    @Benchmark
+    public List<Product> findAllByIdIn() {
+        return transactionTemplate.execute(status -> productRepository.findAllByIdIn(cart));
+    }
+}
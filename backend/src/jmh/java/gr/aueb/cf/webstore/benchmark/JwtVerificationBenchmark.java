@@ -0,0 +1,77 @@
+package gr.aueb.cf.webstore.benchmark;
+
+import gr.aueb.cf.webstore.authentication.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens verified per second: one parse with the prebuilt key and parser, as JwtAuthenticationFilter does now,
+ * against the old path that decoded the key and built a parser for each of its three parses per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private JwtService jwtService;
+    private String secretKey;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        jwtService = context.getBean(JwtService.class);
+        secretKey = context.getEnvironment().getRequiredProperty("app.security.secret-key");
+        token = jwtService.generateToken("bench@test.local", "USER", 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean parseOnce() {
+        Claims claims = jwtService.parseClaims(token);
+        return "bench@test.local".equals(claims.getSubject()) && !claims.getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean rebuildKeyAndParseThreeTimes() {
+        String subject = parseWithFreshKey().getSubject();
+        boolean sameSubject = subject.equals(parseWithFreshKey().getSubject());
+        return sameSubject && !parseWithFreshKey().getExpiration().before(new Date());
+    }
+
+    private Claims parseWithFreshKey() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,86 @@
+package gr.aueb.cf.webstore.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog latency while a login burst runs over HTTP on a 20-thread Tomcat. With two hashing threads and a
+ * queue of eight, at most ten request threads wait on BCrypt and the rest of the burst gets a fast 503; with
+ * 200 threads every login hashes at once, as before the bounded encoder. Logins use an unknown email, which
+ * still costs one BCrypt(12) match.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class LoginCatalogMixBenchmark {
+
+    @Param({"2", "200"})
+    private int hashingThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest login;
+    private HttpRequest catalog;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("server.tomcat.threads.max=20",
+                "app.security.password-hashing.threads=" + hashingThreads,
+                "app.security.password-hashing.queue-capacity=8",
+                "logging.level.gr.aueb.cf.webstore.core.ErrorHandler=ERROR");
+
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        login = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"nobody@bench.local\",\"password\":\"Secret#123\"}"))
+                .build();
+        catalog = HttpRequest.newBuilder(URI.create(baseUrl + "/api/products?page=0&size=20")).GET().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(24)
+    public int login() throws IOException, InterruptedException {
+        return client.send(login, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(4)
+    public int catalog() throws IOException, InterruptedException {
+        return client.send(catalog, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,105 @@
+package gr.aueb.cf.webstore.benchmark;
+
+import gr.aueb.cf.webstore.core.enums.Role;
+import gr.aueb.cf.webstore.dto.AddressDTO;
+import gr.aueb.cf.webstore.dto.OrderInsertDTO;
+import gr.aueb.cf.webstore.dto.OrderItemInsertDTO;
+import gr.aueb.cf.webstore.dto.OrderReadOnlyDTO;
+import gr.aueb.cf.webstore.model.Category;
+import gr.aueb.cf.webstore.model.Product;
+import gr.aueb.cf.webstore.model.User;
+import gr.aueb.cf.webstore.repository.CategoryRepository;
+import gr.aueb.cf.webstore.repository.ProductRepository;
+import gr.aueb.cf.webstore.repository.UserRepository;
+import gr.aueb.cf.webstore.service.IOrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * createOrder latency by line count. With pooled ids and JDBC batching the order items go out as one
+ * batched insert instead of one round trip each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderCreationBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int items;
+
+    private ConfigurableApplicationContext context;
+    private IOrderService orderService;
+    private OrderInsertDTO order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        orderService = context.getBean(IOrderService.class);
+
+        Category category = context.getBean(CategoryRepository.class).save(Category.builder()
+                .name("bench-orders-" + items)
+                .isActive(true)
+                .products(new HashSet<>())
+                .build());
+
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        List<OrderItemInsertDTO> lines = new ArrayList<>(items);
+
+        for (int i = 0; i < items; i++) {
+            Product product = productRepository.save(Product.builder()
+                    .category(category)
+                    .name("Order product " + i)
+                    .price(new BigDecimal("19.90"))
+                    .stock(100_000_000)
+                    .isActive(true)
+                    .sku("BENCH-ORDER-" + items + "-" + i)
+                    .productSpecs(new HashSet<>())
+                    .build());
+            lines.add(new OrderItemInsertDTO(product.getId(), 1));
+        }
+
+        User buyer = context.getBean(UserRepository.class).save(User.builder()
+                .role(Role.USER)
+                .isActive(true)
+                .emailVerified(true)
+                .firstname("Bench")
+                .lastname("Buyer")
+                .email("buyer-" + items + "@bench.local")
+                .password("{noop}secret")
+                .orders(new HashSet<>())
+                .build());
+
+        order = new OrderInsertDTO(buyer.getUuid(), new AddressDTO("Main 1", "Athens", "10558", "GR"), lines);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderReadOnlyDTO createOrder() throws Exception {
+        return orderService.createOrder(order);
+    }
+}
@@ -0,0 +1,98 @@
+package gr.aueb.cf.webstore.benchmark;
+
+import gr.aueb.cf.webstore.core.enums.FileFormat;
+import gr.aueb.cf.webstore.dto.ProductImportResultDTO;
+import gr.aueb.cf.webstore.model.Category;
+import gr.aueb.cf.webstore.repository.CategoryRepository;
+import gr.aueb.cf.webstore.service.IProductImportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end bulk import of a generated CSV catalog (new SKUs every run) including spec upserts
+ * and the per-chunk index refresh. The target is 100k products in well under a minute on MySQL;
+ * H2 scans for the SKU lookup, so pass {@code -jvmArgsAppend -Dspring.datasource.url=...} (plus
+ * username/password) to measure against a real database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ProductImportBenchmark {
+
+    @Param({"100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private IProductImportService productImportService;
+    private String categoryName;
+    private int run;
+    private byte[] csv;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        productImportService = context.getBean(IProductImportService.class);
+
+        categoryName = "bench-import";
+        context.getBean(CategoryRepository.class).save(Category.builder()
+                .name(categoryName)
+                .isActive(true)
+                .products(new HashSet<>())
+                .build());
+    }
+
+    @Setup(Level.Iteration)
+    public void generateCatalog() {
+        StringBuilder builder = new StringBuilder(rows * 120);
+        builder.append("sku,name,description,price,stock,category,brand,spec:VRAM,spec:Boost Clock\n");
+
+        run++;
+        for (int i = 0; i < rows; i++) {
+            builder.append("BENCH-").append(run).append('-').append(i).append(',')
+                    .append("Graphics card ").append(i).append(',')
+                    .append("\"Generated, product ").append(i).append("\",")
+                    .append(100 + i % 900).append(".99,")
+                    .append(i % 50).append(',')
+                    .append(categoryName).append(',')
+                    .append("Brand").append(i % 20).append(',')
+                    .append(4 << (i % 4)).append("GB,")
+                    .append(1500 + i % 1000).append(" MHz\n");
+        }
+
+        csv = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductImportResultDTO importCatalog() throws Exception {
+        ProductImportResultDTO result = productImportService.importProducts(new ByteArrayInputStream(csv), FileFormat.CSV);
+
+        if (result.created() != rows) throw new IllegalStateException("Expected " + rows + " new products, got " + result);
+
+        return result;
+    }
+}
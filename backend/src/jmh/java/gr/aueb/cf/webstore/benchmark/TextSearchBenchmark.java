@@ -0,0 +1,103 @@
+package gr.aueb.cf.webstore.benchmark;
+
+import gr.aueb.cf.webstore.core.filters.Paginated;
+import gr.aueb.cf.webstore.core.filters.ProductFilters;
+import gr.aueb.cf.webstore.core.search.ProductSearchIndex;
+import gr.aueb.cf.webstore.dto.ProductReadOnlyDTO;
+import gr.aueb.cf.webstore.model.Category;
+import gr.aueb.cf.webstore.repository.CategoryRepository;
+import gr.aueb.cf.webstore.service.IProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of a product text search over 100k products: the inverted index against the
+ * {@code UPPER(name) LIKE '%x%'} scan it replaced. "gaming" matches a fifth of the catalog,
+ * "quiet" one product in a hundred.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TextSearchBenchmark {
+
+    private static final int PRODUCTS = 100_000;
+    private static final int BATCH = 1000;
+    private static final String[] ADJECTIVES = {"gaming", "compact", "wireless", "pro", "silent"};
+    private static final String[] NOUNS = {"keyboard", "mouse", "monitor", "headset", "laptop", "router", "webcam"};
+
+    private static final String INSERT_SQL = """
+            INSERT INTO `products` (`sku`, `name`, `description`, `price`, `stock`, `is_active`, `brand`, `category_id`, `created_at`, `updated_at`)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    @Param({"gaming", "quiet"})
+    private String term;
+
+    private ConfigurableApplicationContext context;
+    private IProductService productService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        productService = context.getBean(IProductService.class);
+
+        Category category = context.getBean(CategoryRepository.class).save(Category.builder()
+                .name("bench-search")
+                .isActive(true)
+                .products(new HashSet<>())
+                .build());
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Timestamp now = Timestamp.from(Instant.now());
+
+        for (int start = 0; start < PRODUCTS; start += BATCH) {
+            List<Object[]> rows = new ArrayList<>(BATCH);
+            for (int i = start; i < start + BATCH; i++) {
+                String name = (i % 100 == 0 ? "quiet " : "") + ADJECTIVES[i % ADJECTIVES.length] + " " + NOUNS[i % NOUNS.length] + " " + i;
+                rows.add(new Object[] {"BENCH-SEARCH-" + i, name, "A " + name, new BigDecimal("49.90"), 10, true,
+                        "Brand " + (i % 40), category.getId(), now, now});
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+
+        context.getBean(ProductSearchIndex.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Paginated<ProductReadOnlyDTO> invertedIndex() throws Exception {
+        return productService.getProductsFilteredPaginated(ProductFilters.builder().text(term).build());
+    }
+
+    @Benchmark
+    public Paginated<ProductReadOnlyDTO> likeScan() throws Exception {
+        return productService.getProductsFilteredPaginated(ProductFilters.builder().name(term).build());
+    }
+}
@@ -0,0 +1,104 @@
+package gr.aueb.cf.webstore.benchmark;
+
+import gr.aueb.cf.webstore.model.Category;
+import gr.aueb.cf.webstore.model.Product;
+import gr.aueb.cf.webstore.repository.CategoryRepository;
+import gr.aueb.cf.webstore.repository.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog throughput over HTTP with 64 concurrent clients, on Tomcat's 200 platform threads against
+ * virtual threads. Both modes share the same Hikari pool, so the difference is what waiting for a
+ * connection costs per request rather than how many requests can reach the database at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(64)
+@Fork(1)
+public class ThreadModeLoadBenchmark {
+
+    private static final int PRODUCTS = 200;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest catalog;
+    private HttpRequest product;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("spring.threads.virtual.enabled=" + virtualThreads,
+                "spring.datasource.hikari.maximum-pool-size=10");
+
+        Category category = context.getBean(CategoryRepository.class).save(Category.builder()
+                .name("bench-threads")
+                .isActive(true)
+                .products(new HashSet<>())
+                .build());
+
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        Long productId = null;
+        for (int i = 0; i < PRODUCTS; i++) {
+            productId = productRepository.save(Product.builder()
+                    .category(category)
+                    .name("Thread product " + i)
+                    .price(new BigDecimal("19.90"))
+                    .stock(100)
+                    .isActive(true)
+                    .sku("BENCH-THREADS-" + i)
+                    .productSpecs(new HashSet<>())
+                    .build()).getId();
+        }
+
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        catalog = HttpRequest.newBuilder(URI.create(baseUrl + "/api/products?page=0&size=20")).GET().build();
+        product = HttpRequest.newBuilder(URI.create(baseUrl + "/api/products/" + productId)).GET().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int catalogPage() throws IOException, InterruptedException {
+        return client.send(catalog, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int productDetail() throws IOException, InterruptedException {
+        return client.send(product, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,139 @@
+package gr.aueb.cf.webstore.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.aueb.cf.webstore.authentication.AuthTokenStore;
+import gr.aueb.cf.webstore.core.enums.AuthTokenType;
+import gr.aueb.cf.webstore.dto.TwoFactorVerificationRequestDTO;
+import gr.aueb.cf.webstore.service.ITwoFactorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifying a 2FA challenge against an embedded Redis: the single Lua round trip TwoFactorService runs now
+ * against the JSON GET, second GET and two DELETEs it replaced. Every invocation consumes a fresh challenge,
+ * so each iteration is one batch of {@value #CHALLENGES} verifies over challenges written beforehand.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = TwoFactorVerifyBenchmark.CHALLENGES)
+@Measurement(iterations = 5, batchSize = TwoFactorVerifyBenchmark.CHALLENGES)
+@Fork(1)
+public class TwoFactorVerifyBenchmark {
+
+    static final int CHALLENGES = 10_000;
+
+    private static final int REDIS_PORT = 6391;
+    private static final String LEGACY_KEY = "2fa:";
+    private static final String LEGACY_EMAIL_KEY = "2fa:email:";
+    private static final String CODE = "123456";
+    private static final long TTL_SECONDS = 300;
+
+    private RedisServer redis;
+    private ConfigurableApplicationContext context;
+    private ITwoFactorService twoFactorService;
+    private AuthTokenStore tokenStore;
+    private StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private String[] tokens;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        redis = new RedisServer(REDIS_PORT);
+        redis.start();
+
+        context = BenchmarkContext.start("spring.data.redis.port=" + REDIS_PORT);
+        twoFactorService = context.getBean(ITwoFactorService.class);
+        tokenStore = context.getBean(AuthTokenStore.class);
+        redisTemplate = context.getBean(StringRedisTemplate.class);
+        tokens = new String[CHALLENGES];
+    }
+
+    @Setup(Level.Iteration)
+    public void writeChallenges() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+
+        String[] secrets = new String[CHALLENGES];
+        String[] tags = new String[CHALLENGES];
+
+        for (int i = 0; i < CHALLENGES; i++) {
+            tags[i] = tokenStore.slotTag("user-" + i + "@bench.local");
+            secrets[i] = tokenStore.newToken();
+            tokens[i] = tags[i] + "." + secrets[i];
+        }
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection commands = (StringRedisConnection) connection;
+
+            for (int i = 0; i < CHALLENGES; i++) {
+                String email = "user-" + i + "@bench.local";
+
+                String key = tokenStore.key(AuthTokenType.TWO_FACTOR, tags[i], secrets[i]);
+
+                commands.hMSet(key, Map.of("e", email, "c", CODE, "a", "0"));
+                commands.expire(key, TTL_SECONDS);
+                commands.setEx(tokenStore.key(AuthTokenType.TWO_FACTOR_LATEST, tags[i], ""), TTL_SECONDS, tokens[i]);
+
+                commands.setEx(LEGACY_KEY + tokens[i], TTL_SECONDS, "{\"email\":\"" + email + "\",\"code\":\"" + CODE + "\"}");
+                commands.setEx(LEGACY_EMAIL_KEY + email, TTL_SECONDS, tokens[i]);
+            }
+            return null;
+        });
+
+        next = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        redis.stop();
+    }
+
+    @Benchmark
+    public String scripted() throws Exception {
+        return twoFactorService.verifyTwoFactorCode(new TwoFactorVerificationRequestDTO(tokens[next++], CODE));
+    }
+
+    @Benchmark
+    public String legacyFiveRoundTrips() throws Exception {
+        String token = tokens[next++];
+        String key = LEGACY_KEY + token;
+
+        Map<?, ?> entry = objectMapper.readValue(redisTemplate.opsForValue().get(key), Map.class);
+        String email = (String) entry.get("email");
+        String emailKey = LEGACY_EMAIL_KEY + email;
+
+        if (!token.equals(redisTemplate.opsForValue().get(emailKey)) || !CODE.equals(entry.get("code"))) {
+            throw new IllegalStateException("Challenge did not verify");
+        }
+
+        redisTemplate.delete(key);
+        redisTemplate.delete(emailKey);
+
+        return email;
+    }
+}
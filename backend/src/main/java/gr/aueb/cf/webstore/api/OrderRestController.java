@@ -1,5 +1,6 @@
 package gr.aueb.cf.webstore.api;
 
+import gr.aueb.cf.webstore.core.enums.FileFormat;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectInvalidArgumentException;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectNotAuthorizedException;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectNotFoundException;
@@ -10,12 +11,14 @@ import gr.aueb.cf.webstore.dto.OrderInsertDTO;
 import gr.aueb.cf.webstore.dto.OrderReadOnlyDTO;
 import gr.aueb.cf.webstore.dto.OrderUpdateDTO;
 import gr.aueb.cf.webstore.dto.ResponseMessageDTO;
+import gr.aueb.cf.webstore.service.IExportService;
 import gr.aueb.cf.webstore.service.IOrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +26,7 @@ import org.springframework.lang.Nullable;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import java.io.IOException;
 import java.net.URI;
 
 @RestController
@@ -31,6 +35,7 @@ import java.net.URI;
 public class OrderRestController {
 
     private final IOrderService orderService;
+    private final IExportService exportService;
 
     @Operation(
             summary = "Create a new order",
@@ -119,7 +124,8 @@ public class OrderRestController {
 
     @Operation(
             summary = "Get orders paginated and filtered",
-            description = "Filter by status, orderId, user UUID or date range.",
+            description = "Filter by status, orderId (numeric id or order code), user UUID or an inclusive dateFrom/dateTo range. " +
+                    "Send \"cursor\": \"\" to switch to cursor mode and pass back the returned nextCursor to fetch the next page.",
             security = @SecurityRequirement(name = "Bearer Authentication"),
             responses = {
                     @ApiResponse(
@@ -151,7 +157,8 @@ public class OrderRestController {
             }
     )
     @PostMapping("/orders/search")
-    public ResponseEntity<Paginated<OrderReadOnlyDTO>> getFilteredAndPaginatedOrders(@Nullable @RequestBody OrderFilters filters) {
+    public ResponseEntity<Paginated<OrderReadOnlyDTO>> getFilteredAndPaginatedOrders(@Nullable @RequestBody OrderFilters filters)
+            throws AppObjectInvalidArgumentException {
 
         if (filters == null) filters = OrderFilters.builder().build();
 
@@ -160,6 +167,31 @@ public class OrderRestController {
         return ResponseEntity.ok(paginated);
     }
 
+    @Operation(
+            summary = "Export orders",
+            description = "Streams every matching order straight to the response as CSV (default) or NDJSON (?format=NDJSON). " +
+                    "Honours the status, dateFrom and dateTo filters; paging fields are ignored. Rows are ordered by creation time and memory use does not grow with the number of rows.",
+            security = @SecurityRequirement(name = "Bearer Authentication"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Orders streamed",
+                            content = { @Content(mediaType = "text/csv"), @Content(mediaType = "application/x-ndjson") }),
+                    @ApiResponse(
+                            responseCode = "403", description = "Access Denied",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseMessageDTO.class))
+                    )
+            }
+    )
+    @PostMapping("/orders/export")
+    public void exportOrders(@Nullable @RequestBody OrderFilters filters, @RequestParam(defaultValue = "CSV") FileFormat format,
+                             HttpServletResponse response) throws IOException {
+
+        if (filters == null) filters = OrderFilters.builder().build();
+
+        format.prepareDownload(response, "orders");
+
+        exportService.exportOrders(filters, format, response.getOutputStream());
+    }
+
     @Operation(
             summary = "Get a single order by id",
             security = @SecurityRequirement(name = "Bearer Authentication"),
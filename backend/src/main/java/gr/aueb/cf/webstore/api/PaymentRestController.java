@@ -1,27 +1,33 @@
 package gr.aueb.cf.webstore.api;
 
+import gr.aueb.cf.webstore.core.enums.FileFormat;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectInvalidArgumentException;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectNotFoundException;
 import gr.aueb.cf.webstore.core.exceptions.ValidationException;
 import gr.aueb.cf.webstore.core.filters.Paginated;
+import gr.aueb.cf.webstore.core.filters.PaymentFilters;
 import gr.aueb.cf.webstore.dto.PaymentConfirmationDTO;
 import gr.aueb.cf.webstore.dto.PaymentReadOnlyDTO;
 import gr.aueb.cf.webstore.dto.PaymentRequestDTO;
 import gr.aueb.cf.webstore.dto.ResponseMessageDTO;
+import gr.aueb.cf.webstore.service.IExportService;
 import gr.aueb.cf.webstore.service.IPaymentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.List;
 
@@ -31,6 +37,7 @@ import java.util.List;
 public class PaymentRestController {
 
     private final IPaymentService paymentService;
+    private final IExportService exportService;
 
     @Operation(
             summary = "Create a payment for an order",
@@ -193,8 +200,34 @@ public class PaymentRestController {
         return new ResponseEntity<>(payments, HttpStatus.OK);
     }
 
+    @Operation(
+            summary = "Export payments",
+            description = "Streams every matching payment straight to the response as CSV (default) or NDJSON (?format=NDJSON). " +
+                    "Honours the status, dateFrom and dateTo filters; paging fields are ignored. Rows are ordered by creation time and memory use does not grow with the number of rows.",
+            security = @SecurityRequirement(name = "Bearer Authentication"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Payments streamed",
+                            content = { @Content(mediaType = "text/csv"), @Content(mediaType = "application/x-ndjson") }),
+                    @ApiResponse(
+                            responseCode = "403", description = "Access Denied",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseMessageDTO.class))
+                    )
+            }
+    )
+    @PostMapping("/export")
+    public void exportPayments(@Nullable @RequestBody PaymentFilters filters, @RequestParam(defaultValue = "CSV") FileFormat format,
+                               HttpServletResponse response) throws IOException {
+
+        if (filters == null) filters = new PaymentFilters();
+
+        format.prepareDownload(response, "payments");
+
+        exportService.exportPayments(filters, format, response.getOutputStream());
+    }
+
     @Operation(
             summary = "Get all payments paginated",
+            description = "Pass cursor (empty for the first page, then the returned nextCursor) to page by cursor instead of offset.",
             security = @SecurityRequirement(name = "Bearer Authentication"),
             responses = {
                     @ApiResponse(
@@ -236,9 +269,12 @@ public class PaymentRestController {
             }
     )
     @GetMapping
-    public ResponseEntity<Paginated<PaymentReadOnlyDTO>> getPaginatedPayments(@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size) {
+    public ResponseEntity<Paginated<PaymentReadOnlyDTO>> getPaginatedPayments(@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size,
+                                                                              @RequestParam(required = false) String cursor) throws AppObjectInvalidArgumentException {
 
-        Paginated<PaymentReadOnlyDTO> paginated = paymentService.getPaginatedPayments(page, size);
+        Paginated<PaymentReadOnlyDTO> paginated = cursor != null
+                ? paymentService.getPaymentsByCursor(cursor, size)
+                : paymentService.getPaginatedPayments(page, size);
 
         return ResponseEntity.ok(paginated);
     }
@@ -1,5 +1,6 @@
 package gr.aueb.cf.webstore.api;
 
+import gr.aueb.cf.webstore.core.enums.FileFormat;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectAlreadyExists;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectInvalidArgumentException;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectNotFoundException;
@@ -7,6 +8,7 @@ import gr.aueb.cf.webstore.core.exceptions.ValidationException;
 import gr.aueb.cf.webstore.core.filters.Paginated;
 import gr.aueb.cf.webstore.core.filters.ProductFilters;
 import gr.aueb.cf.webstore.dto.*;
+import gr.aueb.cf.webstore.service.IProductImportService;
 import gr.aueb.cf.webstore.service.IProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,6 +17,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.validation.BindingResult;
@@ -23,6 +27,7 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 
@@ -32,6 +37,7 @@ import java.util.List;
 public class ProductRestController {
 
     private final IProductService productService;
+    private final IProductImportService productImportService;
 
     @Operation(
             summary = "Create a new product",
@@ -81,6 +87,48 @@ public class ProductRestController {
                 .body(dto);
     }
 
+    @Operation(
+            summary = "Bulk import products",
+            security = @SecurityRequirement(name = "Bearer Authentication"),
+            description = "Streams a text/csv or application/x-ndjson request body and upserts products by SKU. " +
+                    "CSV needs a header row with sku, name, description, price, stock and category, optionally brand and isActive; " +
+                    "every \"spec:<Name>\" column becomes a product spec. NDJSON lines carry the same fields with specs as an object. " +
+                    "Categories are matched by name. Invalid rows are skipped and reported with their line number.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Import finished",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(
+                                            implementation = ProductImportResultDTO.class,
+                                            example = """
+                                                    {
+                                                      "processed": 3,
+                                                      "created": 1,
+                                                      "updated": 1,
+                                                      "failed": 1,
+                                                      "errors": [
+                                                        { "line": 4, "sku": "GPU-RTX5090-001", "message": "Category 'Graphics' not found" }
+                                                      ]
+                                                    }"""
+                                    ))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400", description = "Missing or unknown CSV columns",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResponseMessageDTO.class))
+                    )
+            }
+    )
+    @PostMapping(value = "/products/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ProductImportResultDTO> importProducts(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body)
+            throws AppObjectInvalidArgumentException, IOException {
+
+        FileFormat format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(FileFormat.CSV.getContentType()))
+                ? FileFormat.CSV
+                : FileFormat.NDJSON;
+
+        return ResponseEntity.ok(productImportService.importProducts(body, format));
+    }
+
     @Operation(
             summary = "Get all products paginated",
             description = "returns paginated list of products",
@@ -133,7 +181,11 @@ public class ProductRestController {
 
     @Operation(
             summary = "Get all products paginated and filtered",
-            description = "Public endpoint – supports filtering by name, category, price range, brand and specs.",
+            description = "Public endpoint – supports filtering by name, category, price range, brand and specs. " +
+                    "A \"text\" filter runs a ranked full-text search over name, brand, description and SKU. " +
+                    "\"specs\" takes a list of {name, equals, prefix, min, max} conditions, where min/max compare the leading number of the value (e.g. VRAM min 12 matches \"16GB GDDR7\"). " +
+                    "Send \"cursor\": \"\" to switch to cursor mode and pass back the returned nextCursor to fetch the next page. " +
+                    "Send \"skipCount\": true to skip the total count and rely on hasNext, optionally with \"approximateTotal\": true for a cached total.",
             responses = {
                     @ApiResponse(
                             responseCode = "200", description = "Products returned",
@@ -175,7 +227,8 @@ public class ProductRestController {
             }
     )
     @PostMapping("/products/search")
-    public ResponseEntity<Paginated<ProductReadOnlyDTO>> getFilteredAndPaginatedProducts(@Nullable @RequestBody ProductFilters filters) {
+    public ResponseEntity<Paginated<ProductReadOnlyDTO>> getFilteredAndPaginatedProducts(@Nullable @RequestBody ProductFilters filters)
+            throws AppObjectInvalidArgumentException {
 
         if (filters == null) filters = ProductFilters.builder().build();
 
@@ -188,6 +241,40 @@ public class ProductRestController {
         return ResponseEntity.ok(paginated);
     }
 
+    @Operation(
+            summary = "Get facet counts for filtered products",
+            description = "Public endpoint – returns product counts per category, brand, price range and spec value for the given filters. " +
+                    "Each facet is counted with every filter applied except its own.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Facet counts returned",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(
+                                            implementation = ProductFacetsDTO.class,
+                                            example = """
+                                                    {
+                                                      "total": 12,
+                                                      "categories": { "GPUs": 12 },
+                                                      "brands": { "AMD": 9, "NVIDIA": 12 },
+                                                      "priceRanges": { "0-200": 3, "200-400": 5, "400-600": 4 },
+                                                      "specs": { "VRAM": { "8GB GDDR6": 4, "16GB GDDR7": 2 } }
+                                                    }"""
+                                    ))
+                    )
+            }
+    )
+    @PostMapping("/products/facets")
+    public ResponseEntity<ProductFacetsDTO> getProductFacets(@Nullable @RequestBody ProductFilters filters) {
+
+        if (filters == null) filters = ProductFilters.builder().build();
+
+        if (filters.getIsActive() == null) {
+            filters.setIsActive(true);
+        }
+
+        return ResponseEntity.ok(productService.getProductFacets(filters));
+    }
+
     @Operation(
             summary = "Get one product by id",
             description = "returns a single product by database id.",
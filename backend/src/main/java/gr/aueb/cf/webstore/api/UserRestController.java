@@ -123,6 +123,7 @@ public class UserRestController {
 
     @Operation(
             summary = "Get all users paginated and filtered",
+            description = "Send \"cursor\": \"\" to switch to cursor mode and pass back the returned nextCursor to fetch the next page.",
             security = @SecurityRequirement(name = "Bearer Authentication"),
             responses = {
                     @ApiResponse(
@@ -159,7 +160,8 @@ public class UserRestController {
             }
     )
     @PostMapping("/users/search")
-    public ResponseEntity<Paginated<UserReadOnlyDTO>> getFilteredAndPaginatedUsers(@Nullable @RequestBody UserFilters filters) {
+    public ResponseEntity<Paginated<UserReadOnlyDTO>> getFilteredAndPaginatedUsers(@Nullable @RequestBody UserFilters filters)
+            throws AppObjectInvalidArgumentException {
 
         if (filters == null) filters = UserFilters.builder().build();
 
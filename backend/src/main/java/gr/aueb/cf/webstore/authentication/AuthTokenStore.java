@@ -0,0 +1,80 @@
+package gr.aueb.cf.webstore.authentication;
+
+import gr.aueb.cf.webstore.core.enums.AuthTokenType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+@Component
+public class AuthTokenStore {
+
+    private static final int TOKEN_BYTES = 16;
+    private static final int TAG_BYTES = 9;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final StringRedisTemplate redisTemplate;
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    public AuthTokenStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public String newToken() {
+
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+
+        return ENCODER.encodeToString(bytes);
+    }
+
+    public String key(AuthTokenType type, String id) {
+        return type.getPrefix() + id;
+    }
+
+    /**
+     * Key inside a Redis Cluster hash tag: keys with the same tag hash to one slot, so a script may touch them all.
+     */
+    public String key(AuthTokenType type, String tag, String id) {
+        return type.getPrefix() + "{" + tag + "}" + id;
+    }
+
+    /**
+     * Short, stable hash tag for one user's keys, derived from the email so it never has to be stored.
+     */
+    public String slotTag(String email) {
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(email.getBytes(StandardCharsets.UTF_8));
+            return ENCODER.encodeToString(Arrays.copyOf(digest, TAG_BYTES));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public void put(AuthTokenType type, String token, String value, Duration ttl) {
+        redisTemplate.opsForValue().set(key(type, token), value, ttl);
+    }
+
+    public String get(AuthTokenType type, String token) {
+        return redisTemplate.opsForValue().get(key(type, token));
+    }
+
+    public void delete(AuthTokenType type, String token) {
+        redisTemplate.delete(key(type, token));
+    }
+
+    public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+        return redisTemplate.execute(script, keys, args);
+    }
+}
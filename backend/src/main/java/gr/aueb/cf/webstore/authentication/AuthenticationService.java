@@ -31,9 +31,7 @@ public class AuthenticationService {
                 new UsernamePasswordAuthenticationToken(dto.email(), dto.password())
         );
 
-        User user = (User) authentication.getPrincipal();
-
-        return twoFactorService.createTwoFactorChallenge(user.getEmail(), "EMAIL");
+        return twoFactorService.createTwoFactorChallenge(authentication.getName(), "EMAIL");
     }
 
     public AuthenticationResponseDTO completeAuthentication(TwoFactorVerificationRequestDTO request)
@@ -43,7 +41,7 @@ public class AuthenticationService {
 
         User user = userRepository.findByEmail(email).orElseThrow(() -> new AppObjectNotFoundException("User", "User with email " + email + " not found"));
 
-        String token = jwtService.generateToken(user.getEmail(), user.getRole().name());
+        String token = jwtService.generateToken(user.getEmail(), user.getRole().name(), user.getTokenVersion());
 
         return new AuthenticationResponseDTO(user.getFirstname(), user.getLastname(), user.getRole(), token, user.getUuid());
     }
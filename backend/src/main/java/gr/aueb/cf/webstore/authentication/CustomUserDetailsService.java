@@ -2,7 +2,6 @@ package gr.aueb.cf.webstore.authentication;
 
 import gr.aueb.cf.webstore.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -12,10 +11,20 @@ import org.springframework.stereotype.Service;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
-    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+    public UserPrincipal loadUserByUsername(String email) throws UsernameNotFoundException {
 
-        return userRepository.findByEmail(email).orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        UserPrincipal cached = userDetailsCache.get(email);
+
+        if (cached != null) return cached;
+
+        UserPrincipal principal = userRepository.findByEmail(email).map(UserPrincipal::of)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+
+        userDetailsCache.put(principal);
+
+        return principal;
     }
 }
@@ -0,0 +1,70 @@
+package gr.aueb.cf.webstore.authentication;
+
+import gr.aueb.cf.webstore.core.cache.CacheEvictions;
+import gr.aueb.cf.webstore.core.cache.LocalCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Node-local principals by email. An eviction is applied here and broadcast on {@link #EVICTION_CHANNEL}, so a
+ * role, password or enabled change made on one node is dropped by every node; the TTL only bounds staleness
+ * when a broadcast is lost.
+ */
+@Component
+@Slf4j
+public class UserDetailsCache {
+
+    public static final String EVICTION_CHANNEL = "user-details:evictions";
+
+    private final LocalCache<String, UserPrincipal> cache;
+    private final StringRedisTemplate redisTemplate;
+    private final boolean broadcast;
+
+    @Autowired
+    public UserDetailsCache(MeterRegistry meterRegistry, StringRedisTemplate redisTemplate,
+                            @Value("${app.security.user-details-cache.max-size:10000}") int maxSize,
+                            @Value("${app.security.user-details-cache.ttl:PT5M}") Duration ttl,
+                            @Value("${app.security.user-details-cache.broadcast:false}") boolean broadcast) {
+        this.cache = new LocalCache<>("user-details", maxSize, ttl, meterRegistry);
+        this.redisTemplate = redisTemplate;
+        this.broadcast = broadcast;
+    }
+
+    public UserPrincipal get(String email) {
+        return cache.get(email);
+    }
+
+    public void put(UserPrincipal principal) {
+        cache.put(principal.getUsername(), principal);
+    }
+
+    public void evict(String email) {
+        CacheEvictions.nowAndAfterCompletion(() -> evictNow(email));
+    }
+
+    /**
+     * Applies an eviction published by any node (including this one) to the local cache only.
+     */
+    public void onEvictionMessage(String email) {
+        cache.evict(email);
+    }
+
+    private void evictNow(String email) {
+
+        cache.evict(email);
+
+        if (!broadcast) return;
+
+        try {
+            redisTemplate.convertAndSend(EVICTION_CHANNEL, email);
+        } catch (RuntimeException e) {
+            log.warn("Failed to broadcast user details eviction for {}", email, e);
+        }
+    }
+}
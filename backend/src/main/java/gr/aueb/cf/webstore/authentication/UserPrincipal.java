@@ -0,0 +1,49 @@
+package gr.aueb.cf.webstore.authentication;
+
+import gr.aueb.cf.webstore.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+/**
+ * Immutable copy of the fields authentication needs, taken when the user is loaded. Cached principals are
+ * shared across request threads, so they must never be the managed {@link User} entity.
+ */
+public record UserPrincipal(String email, String passwordHash, List<GrantedAuthority> authorities, boolean enabled,
+                            int tokenVersion) implements UserDetails {
+
+    public UserPrincipal {
+        authorities = List.copyOf(authorities);
+    }
+
+    public static UserPrincipal of(User user) {
+        return new UserPrincipal(user.getEmail(), user.getPassword(), List.copyOf(user.getAuthorities()), user.isEnabled(),
+                user.getTokenVersion() == null ? 0 : user.getTokenVersion());
+    }
+
+    @Override
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return passwordHash;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String toString() {
+        return "UserPrincipal[email=" + email + ", authorities=" + authorities + ", enabled=" + enabled + "]";
+    }
+}
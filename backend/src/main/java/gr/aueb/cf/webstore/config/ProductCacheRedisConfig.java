@@ -0,0 +1,31 @@
+package gr.aueb.cf.webstore.config;
+
+import gr.aueb.cf.webstore.core.cache.ProductCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * With the Redis level on, every node subscribes to the eviction channel so a write on one node
+ * also clears the in-process level of the others.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.cache.products.redis-enabled", havingValue = "true")
+public class ProductCacheRedisConfig {
+
+    @Bean
+    public RedisMessageListenerContainer productCacheEvictionListener(RedisConnectionFactory connectionFactory, ProductCache productCache) {
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> productCache.onEvictionMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(ProductCache.EVICTION_CHANNEL));
+
+        return container;
+    }
+}
@@ -0,0 +1,31 @@
+package gr.aueb.cf.webstore.config;
+
+import gr.aueb.cf.webstore.core.search.ProductIndexBroadcast;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Every node subscribes to the product index channel, so a product write handled on one node also reaches the
+ * search, facet and attribute indexes of the others.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.search.index-broadcast", havingValue = "true")
+public class ProductIndexRedisConfig {
+
+    @Bean
+    public RedisMessageListenerContainer productIndexListener(RedisConnectionFactory connectionFactory, ProductIndexBroadcast productIndexBroadcast) {
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> productIndexBroadcast.onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(ProductIndexBroadcast.CHANNEL));
+
+        return container;
+    }
+}
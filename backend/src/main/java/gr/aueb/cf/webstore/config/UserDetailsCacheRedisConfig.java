@@ -0,0 +1,31 @@
+package gr.aueb.cf.webstore.config;
+
+import gr.aueb.cf.webstore.authentication.UserDetailsCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Every node subscribes to the user details eviction channel, so an admin change handled on one node also
+ * clears the cached principal on the others.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.security.user-details-cache.broadcast", havingValue = "true")
+public class UserDetailsCacheRedisConfig {
+
+    @Bean
+    public RedisMessageListenerContainer userDetailsEvictionListener(RedisConnectionFactory connectionFactory, UserDetailsCache userDetailsCache) {
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> userDetailsCache.onEvictionMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(UserDetailsCache.EVICTION_CHANNEL));
+
+        return container;
+    }
+}
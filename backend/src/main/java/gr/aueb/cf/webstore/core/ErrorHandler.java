@@ -5,6 +5,7 @@ import gr.aueb.cf.webstore.dto.ResponseMessageDTO;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -77,6 +78,15 @@ public class ErrorHandler extends ResponseEntityExceptionHandler {
                 .body(new ResponseMessageDTO(e.getCode(), e.getMessage()));
     }
 
+    @ExceptionHandler(AppServiceBusyException.class)
+    public ResponseEntity<ResponseMessageDTO> handleServiceBusy(AppServiceBusyException e) {
+        log.warn("Service busy. Message = {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ResponseMessageDTO(e.getCode(), e.getMessage()));
+    }
+
     @ExceptionHandler(AccessDeniedException.class)    // 403
     public ResponseEntity<ResponseMessageDTO> handleAccessDenied(AccessDeniedException e) {
         return ResponseEntity
@@ -0,0 +1,28 @@
+package gr.aueb.cf.webstore.core.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class CacheEvictions {
+
+    private CacheEvictions() {}
+
+    /**
+     * Evicts immediately and again once the transaction completes, which shortens the window in which a
+     * concurrent read can cache the old row. It does not close it: a reader that loaded the row before the
+     * commit and puts it after the second eviction leaves a stale entry until the TTL expires.
+     */
+    public static void nowAndAfterCompletion(Runnable eviction) {
+
+        eviction.run();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                eviction.run();
+            }
+        });
+    }
+}
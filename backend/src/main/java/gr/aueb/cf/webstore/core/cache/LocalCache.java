@@ -0,0 +1,72 @@
+package gr.aueb.cf.webstore.core.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class LocalCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    private final Map<K, Entry<V>> entries;
+
+    private record Entry<V>(V value, long expiresAt) {}
+
+    public LocalCache(String name, int maxSize, Duration ttl, MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.hits = Counter.builder("cache.gets").tag("cache", name).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", name).tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", name).register(meterRegistry);
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                boolean evict = size() > LocalCache.this.maxSize;
+                if (evict) evictions.increment();
+                return evict;
+            }
+        };
+        meterRegistry.gauge("cache.size", Tags.of("cache", name), entries, Map::size);
+    }
+
+    public synchronized V get(K key) {
+
+        Entry<V> entry = entries.get(key);
+
+        if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+            hits.increment();
+            return entry.value();
+        }
+
+        if (entry != null) {
+            entries.remove(key);
+            evictions.increment();
+        }
+
+        misses.increment();
+
+        return null;
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+    }
+
+    public synchronized void evict(K key) {
+        if (entries.remove(key) != null) evictions.increment();
+    }
+
+    public synchronized void clear() {
+        evictions.increment(entries.size());
+        entries.clear();
+    }
+}
@@ -0,0 +1,198 @@
+package gr.aueb.cf.webstore.core.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.aueb.cf.webstore.dto.ProductReadOnlyDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class ProductCache {
+
+    public static final String EVICTION_CHANNEL = "product-cache:evictions";
+
+    private static final String KEY = "product:";
+    private static final String EVICT_ALL = "*";
+    private static final Duration COUNT_TTL = Duration.ofSeconds(60);
+    private static final int COUNTS_MAX_ENTRIES = 1000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final LocalCache<Long, ProductReadOnlyDTO> local;
+    private final Duration ttl;
+    private final boolean redisEnabled;
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    private final Counter redisHits;
+    private final Counter redisMisses;
+
+    private record CachedCount(long total, long expiresAt) {}
+
+    @Autowired
+    public ProductCache(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                        @Value("${app.cache.products.max-size:1000}") int maxSize,
+                        @Value("${app.cache.products.ttl:PT10M}") Duration ttl,
+                        @Value("${app.cache.products.redis-enabled:false}") boolean redisEnabled) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.local = new LocalCache<>("products", maxSize, ttl, meterRegistry);
+        this.ttl = ttl;
+        this.redisEnabled = redisEnabled;
+        this.redisHits = Counter.builder("cache.gets").tag("cache", "products-redis").tag("result", "hit").register(meterRegistry);
+        this.redisMisses = Counter.builder("cache.gets").tag("cache", "products-redis").tag("result", "miss").register(meterRegistry);
+    }
+
+    public ProductReadOnlyDTO get(Long id) {
+
+        ProductReadOnlyDTO product = local.get(id);
+
+        if (product != null || !redisEnabled) return product;
+
+        product = getFromRedis(id);
+
+        if (product == null) {
+            redisMisses.increment();
+            return null;
+        }
+
+        redisHits.increment();
+        local.put(id, product);
+
+        return product;
+    }
+
+    public void put(ProductReadOnlyDTO product) {
+
+        local.put(product.id(), product);
+
+        if (!redisEnabled) return;
+
+        try {
+            redisTemplate.opsForValue().set(KEY + product.id(), objectMapper.writeValueAsString(product), ttl);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize product {} for cache", product.id(), e);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write product {} to redis cache", product.id(), e);
+        }
+    }
+
+    /**
+     * Approximate total for a filter predicate key, or null when missing or older than a minute.
+     * Counts are local to the node and dropped on every product write and full eviction.
+     */
+    public Long getCount(String key) {
+
+        CachedCount cached = counts.get(key);
+
+        return cached != null && cached.expiresAt() > System.currentTimeMillis() ? cached.total() : null;
+    }
+
+    public void putCount(String key, long total) {
+
+        if (counts.size() >= COUNTS_MAX_ENTRIES) counts.clear();
+
+        counts.put(key, new CachedCount(total, System.currentTimeMillis() + COUNT_TTL.toMillis()));
+    }
+
+    public void evictCounts() {
+        CacheEvictions.nowAndAfterCompletion(counts::clear);
+    }
+
+    public void evict(Long id) {
+        CacheEvictions.nowAndAfterCompletion(() -> evictNow(List.of(id)));
+    }
+
+    /**
+     * Evicts several products with one redis delete and one published message.
+     */
+    public void evict(Collection<Long> ids) {
+        if (ids.isEmpty()) return;
+        List<Long> snapshot = List.copyOf(ids);
+        CacheEvictions.nowAndAfterCompletion(() -> evictNow(snapshot));
+    }
+
+    /**
+     * Applies an eviction published by any node (including this one) to the local level only.
+     */
+    public void onEvictionMessage(String message) {
+
+        if (EVICT_ALL.equals(message)) {
+            local.clear();
+            counts.clear();
+            return;
+        }
+
+        try {
+            for (String id : message.split(",")) local.evict(Long.valueOf(id));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed product cache eviction message {}", message);
+        }
+    }
+
+    public void evictAll() {
+        CacheEvictions.nowAndAfterCompletion(this::evictAllNow);
+    }
+
+    private void evictNow(List<Long> ids) {
+
+        ids.forEach(local::evict);
+
+        if (!redisEnabled) return;
+
+        try {
+            redisTemplate.delete(ids.stream().map(id -> KEY + id).toList());
+            redisTemplate.convertAndSend(EVICTION_CHANNEL, ids.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict products {} from redis cache", ids, e);
+        }
+    }
+
+    private void evictAllNow() {
+
+        local.clear();
+        counts.clear();
+
+        if (!redisEnabled) return;
+
+        try (Cursor<String> keys = redisTemplate.scan(ScanOptions.scanOptions().match(KEY + "*").count(500).build())) {
+            keys.forEachRemaining(redisTemplate::delete);
+        } catch (RuntimeException e) {
+            log.warn("Failed to clear redis product cache", e);
+        }
+
+        try {
+            redisTemplate.convertAndSend(EVICTION_CHANNEL, EVICT_ALL);
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish product cache clear", e);
+        }
+    }
+
+    private ProductReadOnlyDTO getFromRedis(Long id) {
+
+        try {
+            String json = redisTemplate.opsForValue().get(KEY + id);
+            return json == null ? null : objectMapper.readValue(json, ProductReadOnlyDTO.class);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to deserialize cached product {}", id, e);
+            return null;
+        } catch (RuntimeException e) {
+            log.warn("Failed to read product {} from redis cache", id, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package gr.aueb.cf.webstore.core.email;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class EmailTemplate {
+
+    private final List<Segment> segments;
+    private final boolean html;
+    private final int literalLength;
+
+    private record Segment(String text, boolean variable, boolean raw) {}
+
+    private EmailTemplate(List<Segment> segments, boolean html, int literalLength) {
+        this.segments = segments;
+        this.html = html;
+        this.literalLength = literalLength;
+    }
+
+    public static EmailTemplate compile(String source, boolean html) {
+
+        List<Segment> segments = new ArrayList<>();
+        int literalLength = 0;
+        int position = 0;
+
+        while (position < source.length()) {
+
+            int start = source.indexOf("{{", position);
+
+            if (start < 0) break;
+
+            boolean raw = source.startsWith("{{{", start);
+            String close = raw ? "}}}" : "}}";
+            int end = source.indexOf(close, start);
+
+            if (end < 0) throw new IllegalArgumentException("Unclosed placeholder at offset " + start);
+
+            if (start > position) {
+                segments.add(new Segment(source.substring(position, start), false, false));
+                literalLength += start - position;
+            }
+
+            segments.add(new Segment(source.substring(start + close.length(), end).trim(), true, raw));
+            position = end + close.length();
+        }
+
+        if (position < source.length()) {
+            segments.add(new Segment(source.substring(position), false, false));
+            literalLength += source.length() - position;
+        }
+
+        return new EmailTemplate(List.copyOf(segments), html, literalLength);
+    }
+
+    public String render(Map<String, String> values) {
+
+        StringBuilder out = new StringBuilder(literalLength + 256);
+        renderTo(out, values);
+
+        return out.toString();
+    }
+
+    public void renderTo(StringBuilder out, Map<String, String> values) {
+
+        for (Segment segment : segments) {
+
+            if (!segment.variable()) {
+                out.append(segment.text());
+                continue;
+            }
+
+            String value = values.get(segment.text());
+
+            if (value == null) continue;
+
+            out.append(html && !segment.raw() ? HtmlUtils.htmlEscape(value) : value);
+        }
+    }
+}
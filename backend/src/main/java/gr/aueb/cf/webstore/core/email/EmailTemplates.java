@@ -0,0 +1,48 @@
+package gr.aueb.cf.webstore.core.email;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class EmailTemplates {
+
+    private static final String LOCATION = "classpath:templates/email/";
+    private static final List<String> NAMES = List.of(
+            "two-factor-code", "email-verification", "order-confirmation", "order-confirmation-item", "order-confirmation-shipping", "password-reset");
+
+    private final Map<String, EmailTemplate> text = new HashMap<>();
+    private final Map<String, EmailTemplate> html = new HashMap<>();
+
+    public EmailTemplates(ResourceLoader resourceLoader) {
+
+        for (String name : NAMES) {
+            text.put(name, EmailTemplate.compile(read(resourceLoader.getResource(LOCATION + name + ".txt")), false));
+            html.put(name, EmailTemplate.compile(read(resourceLoader.getResource(LOCATION + name + ".html")), true));
+        }
+    }
+
+    public EmailTemplate text(String name) {
+        return text.get(name);
+    }
+
+    public EmailTemplate html(String name) {
+        return html.get(name);
+    }
+
+    private static String read(Resource resource) {
+
+        try {
+            return resource.getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load email template " + resource.getDescription(), e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package gr.aueb.cf.webstore.core.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum AuthTokenType {
+    TWO_FACTOR("2f:"),
+    TWO_FACTOR_LATEST("2e:"),
+    TWO_FACTOR_LOCK("2l:"),
+    EMAIL_VERIFICATION("ev:"),
+    PASSWORD_RESET("pr:");
+
+    private final String prefix;
+
+    AuthTokenType(String prefix) {
+        this.prefix = prefix;
+    }
+}
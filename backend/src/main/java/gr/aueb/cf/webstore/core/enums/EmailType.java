@@ -0,0 +1,8 @@
+package gr.aueb.cf.webstore.core.enums;
+
+public enum EmailType {
+    TWO_FACTOR_CODE,
+    EMAIL_VERIFICATION,
+    ORDER_CONFIRMATION,
+    PASSWORD_RESET
+}
@@ -0,0 +1,26 @@
+package gr.aueb.cf.webstore.core.enums;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+
+@Getter
+@RequiredArgsConstructor
+public enum FileFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    /**
+     * Sets the content type and an attachment file name ({@code name.extension}) before a body is streamed.
+     */
+    public void prepareDownload(HttpServletResponse response, String name) {
+
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "." + extension + "\"");
+    }
+}
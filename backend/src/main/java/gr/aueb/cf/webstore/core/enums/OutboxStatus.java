@@ -0,0 +1,8 @@
+package gr.aueb.cf.webstore.core.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    DEAD
+}
@@ -0,0 +1,15 @@
+package gr.aueb.cf.webstore.core.exceptions;
+
+import lombok.Getter;
+
+@Getter
+public class AppServiceBusyException extends RuntimeException {
+
+    private static final String DEFAULT_CODE = "ServiceBusy";
+    private final String code;
+
+    public AppServiceBusyException(String code, String message) {
+        super(message);
+        this.code = code + DEFAULT_CODE;
+    }
+}
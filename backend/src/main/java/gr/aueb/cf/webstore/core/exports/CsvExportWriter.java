@@ -0,0 +1,55 @@
+package gr.aueb.cf.webstore.core.exports;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.List;
+
+class CsvExportWriter extends ExportWriter {
+
+    CsvExportWriter(Writer writer, List<String> columns) throws IOException {
+        super(writer, columns);
+        writeRow(columns.toArray());
+    }
+
+    @Override
+    public void writeRow(Object... values) throws IOException {
+
+        for (int i = 0; i < values.length; i++) {
+
+            if (i > 0) writer.write(',');
+
+            Object value = values[i];
+
+            if (value == null) continue;
+
+            String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+
+            if (!(value instanceof Number) && startsLikeFormula(text)) text = "'" + text;
+
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                writer.write(text);
+                continue;
+            }
+
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        writer.write('\n');
+    }
+
+    /**
+     * Spreadsheets evaluate a cell starting with one of these as a formula, so user-supplied text such as an
+     * address or email gets a leading quote. Numbers are left alone to keep negative amounts numeric.
+     */
+    private static boolean startsLikeFormula(String text) {
+
+        if (text.isEmpty()) return false;
+
+        char first = text.charAt(0);
+
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+}
@@ -0,0 +1,43 @@
+package gr.aueb.cf.webstore.core.exports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.aueb.cf.webstore.core.enums.FileFormat;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public abstract class ExportWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    protected final Writer writer;
+    protected final List<String> columns;
+
+    protected ExportWriter(Writer writer, List<String> columns) {
+        this.writer = writer;
+        this.columns = columns;
+    }
+
+    public static ExportWriter open(OutputStream output, FileFormat format, List<String> columns, ObjectMapper objectMapper) throws IOException {
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        return format == FileFormat.CSV ? new CsvExportWriter(writer, columns) : new NdjsonExportWriter(writer, columns, objectMapper);
+    }
+
+    /**
+     * Writes one row whose values line up with the columns the writer was opened with.
+     */
+    public abstract void writeRow(Object... values) throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+}
@@ -0,0 +1,50 @@
+package gr.aueb.cf.webstore.core.exports;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.List;
+
+class NdjsonExportWriter extends ExportWriter {
+
+    private final JsonGenerator generator;
+
+    NdjsonExportWriter(Writer writer, List<String> columns, ObjectMapper objectMapper) throws IOException {
+        super(writer, columns);
+        this.generator = objectMapper.getFactory().createGenerator(writer);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN);
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void writeRow(Object... values) throws IOException {
+
+        generator.writeStartObject();
+
+        for (int i = 0; i < values.length; i++) {
+
+            generator.writeFieldName(columns.get(i));
+
+            Object value = values[i];
+
+            if (value == null) generator.writeNull();
+            else if (value instanceof BigDecimal decimal) generator.writeNumber(decimal);
+            else if (value instanceof Long number) generator.writeNumber(number);
+            else if (value instanceof Integer number) generator.writeNumber(number);
+            else generator.writeString(value.toString());
+        }
+
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+        super.close();
+    }
+}
@@ -18,6 +18,7 @@ public abstract class GenericFilters {
     private int pageSize;
     private String sortBy;
     private Sort.Direction sortDirection;
+    private String cursor;
 
     public int getPage() {
         return Math.max(page, 0);
@@ -42,4 +43,13 @@ public abstract class GenericFilters {
     public Sort getSort(){
         return Sort.by(this.getSortDirection(), this.getSortBy());
     }
+
+    public boolean isCursorMode() {
+        return this.cursor != null;
+    }
+
+    public Sort getKeysetSort() {
+        if (DEFAULT_SORT_COLUMN.equals(getSortBy())) return getSort();
+        return getSort().and(Sort.by(this.getSortDirection(), DEFAULT_SORT_COLUMN));
+    }
 }
@@ -0,0 +1,58 @@
+package gr.aueb.cf.webstore.core.filters;
+
+import gr.aueb.cf.webstore.core.exceptions.AppObjectInvalidArgumentException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+public record KeysetCursor(String sortValue, Long id) {
+
+    private static final char SEPARATOR = '|';
+    private static final String NULL_VALUE = "\u0000";
+
+    public static KeysetCursor of(Object sortValue, Long id) {
+        return new KeysetCursor(sortValue == null ? null : sortValue.toString(), id);
+    }
+
+    public String encode() {
+        String raw = (sortValue == null ? NULL_VALUE : sortValue) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) throws AppObjectInvalidArgumentException {
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            String value = raw.substring(0, separator);
+
+            return new KeysetCursor(NULL_VALUE.equals(value) ? null : value, Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new AppObjectInvalidArgumentException("Cursor", "Invalid pagination cursor");
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Comparable<?> sortValueAs(Class<?> type) throws AppObjectInvalidArgumentException {
+
+        if (sortValue == null) return null;
+
+        try {
+            if (type == Long.class || type == long.class) return Long.valueOf(sortValue);
+            if (type == Integer.class || type == int.class) return Integer.valueOf(sortValue);
+            if (type == BigDecimal.class) return new BigDecimal(sortValue);
+            if (type == Boolean.class || type == boolean.class) return Boolean.valueOf(sortValue);
+            if (type == LocalDateTime.class) return LocalDateTime.parse(sortValue);
+            if (type == LocalDate.class) return LocalDate.parse(sortValue);
+            if (type.isEnum()) return Enum.valueOf((Class<Enum>) type, sortValue);
+            if (type == String.class) return sortValue;
+        } catch (RuntimeException e) {
+            throw new AppObjectInvalidArgumentException("Cursor", "Invalid pagination cursor");
+        }
+
+        throw new AppObjectInvalidArgumentException("Cursor", "Cursor pagination is not supported for this sort column");
+    }
+}
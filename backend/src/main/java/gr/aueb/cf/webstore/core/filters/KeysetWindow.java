@@ -0,0 +1,51 @@
+package gr.aueb.cf.webstore.core.filters;
+
+import gr.aueb.cf.webstore.core.exceptions.AppObjectInvalidArgumentException;
+import gr.aueb.cf.webstore.core.specifications.KeysetSpecification;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.util.List;
+
+public record KeysetWindow<T>(List<T> content, String nextCursor) {
+
+    public static <T> KeysetWindow<T> fetch(JpaSpecificationExecutor<T> repository, Class<T> entityClass, Specification<T> specification,
+                                            GenericFilters filters) throws AppObjectInvalidArgumentException {
+
+        String sortBy = filters.getSortBy();
+        Sort.Direction direction = filters.getSortDirection();
+        Class<?> sortType = BeanUtils.findPropertyType(sortBy, entityClass);
+
+        if (sortType == Object.class) {
+            throw new AppObjectInvalidArgumentException("Cursor", "Unknown sort column " + sortBy);
+        }
+
+        Specification<T> spec = specification;
+
+        if (!filters.getCursor().isBlank()) {
+            KeysetCursor cursor = KeysetCursor.decode(filters.getCursor());
+            spec = spec.and(KeysetSpecification.after(sortBy, direction, cursor.sortValueAs(sortType), cursor.id()));
+        }
+
+        int size = filters.getPageSize();
+        Sort sort = filters.getKeysetSort();
+
+        List<T> rows = repository.findBy(spec, (FluentQuery.FetchableFluentQuery<T> query) -> query.sortBy(sort).limit(size + 1).all());
+
+        if (rows.size() <= size) {
+            return new KeysetWindow<>(rows, null);
+        }
+
+        List<T> content = rows.subList(0, size);
+        BeanWrapper last = new BeanWrapperImpl(content.get(size - 1));
+
+        String nextCursor = KeysetCursor.of(last.getPropertyValue(sortBy), (Long) last.getPropertyValue("id")).encode();
+
+        return new KeysetWindow<>(content, nextCursor);
+    }
+}
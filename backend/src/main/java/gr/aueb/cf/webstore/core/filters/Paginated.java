@@ -4,6 +4,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import java.util.List;
 
 @Getter
@@ -17,6 +18,9 @@ public class Paginated<T> {
     int totalPages;
     int numberOfElements;
     long totalElements;
+    String nextCursor;
+    boolean hasNext;
+    boolean truncated;
 
     public static <T> Paginated<T> fromPage(Page<T> page) {
 
@@ -27,6 +31,33 @@ public class Paginated<T> {
                 .totalPages(page.getTotalPages())
                 .numberOfElements(page.getNumberOfElements())
                 .totalElements(page.getTotalElements())
+                .hasNext(page.hasNext())
+                .build();
+    }
+
+    public static <T> Paginated<T> fromKeyset(List<T> data, int pageSize, String nextCursor) {
+
+        return Paginated.<T>builder()
+                .data(data)
+                .pageSize(pageSize)
+                .totalPages(-1)
+                .numberOfElements(data.size())
+                .totalElements(-1)
+                .nextCursor(nextCursor)
+                .hasNext(nextCursor != null)
+                .build();
+    }
+
+    public static <T> Paginated<T> fromSlice(Slice<T> slice, Long approximateTotal) {
+
+        return Paginated.<T>builder()
+                .data(slice.getContent())
+                .currentPage(slice.getNumber())
+                .pageSize(slice.getSize())
+                .totalPages(approximateTotal != null ? (int) Math.ceil((double) approximateTotal / slice.getSize()) : -1)
+                .numberOfElements(slice.getNumberOfElements())
+                .totalElements(approximateTotal != null ? approximateTotal : -1)
+                .hasNext(slice.hasNext())
                 .build();
     }
 }
@@ -0,0 +1,23 @@
+package gr.aueb.cf.webstore.core.filters;
+
+import gr.aueb.cf.webstore.core.enums.PaymentStatus;
+import lombok.*;
+import org.springframework.lang.Nullable;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class PaymentFilters extends GenericFilters {
+
+    @Nullable
+    private PaymentStatus status;
+
+    @Nullable
+    private LocalDate dateFrom;
+
+    @Nullable
+    private LocalDate dateTo;
+}
@@ -4,6 +4,7 @@ import lombok.*;
 import org.springframework.lang.Nullable;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Getter
 @Setter
@@ -13,6 +14,9 @@ import java.math.BigDecimal;
 @Builder
 public class ProductFilters extends GenericFilters {
 
+    @Nullable
+    private String text;
+
     @Nullable
     private String name;
 
@@ -34,7 +38,18 @@ public class ProductFilters extends GenericFilters {
     @Nullable
     private String specValue;
 
+    @Nullable
+    private List<SpecCriterion> specs;
+
     @Nullable
     private Boolean isActive;
 
+    @Nullable
+    @ToString.Exclude
+    private Boolean skipCount;
+
+    @Nullable
+    @ToString.Exclude
+    private Boolean approximateTotal;
+
 }
@@ -0,0 +1,11 @@
+package gr.aueb.cf.webstore.core.filters;
+
+import java.math.BigDecimal;
+
+public record SpecCriterion(
+        String name,
+        String equals,
+        String prefix,
+        BigDecimal min,
+        BigDecimal max
+) {}
@@ -0,0 +1,162 @@
+package gr.aueb.cf.webstore.core.imports;
+
+import gr.aueb.cf.webstore.core.exceptions.AppObjectInvalidArgumentException;
+import gr.aueb.cf.webstore.dto.ProductImportRowDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class CsvProductImportReader extends ProductImportReader {
+
+    private static final String SPEC_PREFIX = "spec:";
+    private static final Set<String> REQUIRED_COLUMNS = Set.of("sku", "name", "description", "price", "stock", "category");
+    private static final Set<String> OPTIONAL_COLUMNS = Set.of("brand", "isActive");
+
+    private final List<String> header;
+
+    CsvProductImportReader(BufferedReader reader) throws IOException, AppObjectInvalidArgumentException {
+        super(reader);
+
+        List<String> columns = readRecord();
+
+        if (columns == null) throw new AppObjectInvalidArgumentException("ProductImport", "CSV header row is missing");
+
+        header = new ArrayList<>();
+
+        for (String column : columns) {
+
+            String name = column.replace("\uFEFF", "").trim();
+
+            boolean spec = name.startsWith(SPEC_PREFIX) && name.length() > SPEC_PREFIX.length();
+
+            if (!spec && !REQUIRED_COLUMNS.contains(name) && !OPTIONAL_COLUMNS.contains(name)) {
+                throw new AppObjectInvalidArgumentException("ProductImport", "Unknown CSV column '" + name + "'");
+            }
+
+            header.add(name);
+        }
+
+        for (String required : REQUIRED_COLUMNS) {
+            if (!header.contains(required)) throw new AppObjectInvalidArgumentException("ProductImport", "CSV column '" + required + "' is required");
+        }
+    }
+
+    @Override
+    public Row next() throws IOException {
+
+        List<String> fields;
+        long line;
+
+        do {
+            line = lineNumber + 1;
+            fields = readRecord();
+
+            if (fields == null) return null;
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        Map<String, String> values = new HashMap<>();
+        Map<String, String> specs = new LinkedHashMap<>();
+
+        for (int i = 0; i < Math.min(header.size(), fields.size()); i++) {
+
+            String column = header.get(i);
+            String value = fields.get(i).trim();
+
+            if (column.startsWith(SPEC_PREFIX)) {
+                if (!value.isEmpty()) specs.put(column.substring(SPEC_PREFIX.length()).trim(), value);
+            } else if (!value.isEmpty()) {
+                values.put(column, value);
+            }
+        }
+
+        String sku = values.get("sku");
+
+        if (fields.size() != header.size()) return Row.failed(line, sku, "Expected " + header.size() + " fields but found " + fields.size());
+
+        BigDecimal price;
+        Integer stock;
+
+        try {
+            price = values.containsKey("price") ? new BigDecimal(values.get("price")) : null;
+        } catch (NumberFormatException e) {
+            return Row.failed(line, sku, "Invalid price '" + values.get("price") + "'");
+        }
+
+        try {
+            stock = values.containsKey("stock") ? Integer.valueOf(values.get("stock")) : null;
+        } catch (NumberFormatException e) {
+            return Row.failed(line, sku, "Invalid stock '" + values.get("stock") + "'");
+        }
+
+        String isActive = values.get("isActive");
+
+        if (isActive != null && !isActive.equalsIgnoreCase("true") && !isActive.equalsIgnoreCase("false")) {
+            return Row.failed(line, sku, "Invalid isActive '" + isActive + "'");
+        }
+
+        ProductImportRowDTO data = new ProductImportRowDTO(sku, values.get("name"), values.get("description"), price, stock,
+                values.get("category"), values.get("brand"), isActive == null ? null : Boolean.valueOf(isActive), specs);
+
+        return new Row(line, sku, data, null);
+    }
+
+    private List<String> readRecord() throws IOException {
+
+        String text = reader.readLine();
+
+        if (text == null) return null;
+
+        lineNumber++;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+
+        while (true) {
+
+            if (i == text.length()) {
+
+                String continuation = quoted ? reader.readLine() : null;
+
+                if (continuation == null) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+
+                lineNumber++;
+                field.append('\n');
+                text = continuation;
+                i = 0;
+                continue;
+            }
+
+            char c = text.charAt(i++);
+
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < text.length() && text.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+    }
+}
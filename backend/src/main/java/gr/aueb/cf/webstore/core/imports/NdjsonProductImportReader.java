@@ -0,0 +1,39 @@
+package gr.aueb.cf.webstore.core.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.aueb.cf.webstore.dto.ProductImportRowDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+class NdjsonProductImportReader extends ProductImportReader {
+
+    private final ObjectMapper objectMapper;
+
+    NdjsonProductImportReader(BufferedReader reader, ObjectMapper objectMapper) {
+        super(reader);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Row next() throws IOException {
+
+        String text;
+
+        do {
+            text = reader.readLine();
+
+            if (text == null) return null;
+
+            lineNumber++;
+        } while (text.isBlank());
+
+        try {
+            ProductImportRowDTO data = objectMapper.readValue(text, ProductImportRowDTO.class);
+            return new Row(lineNumber, data.sku(), data, null);
+        } catch (JsonProcessingException e) {
+            return Row.failed(lineNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+}
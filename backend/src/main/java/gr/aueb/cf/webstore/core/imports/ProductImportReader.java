@@ -0,0 +1,49 @@
+package gr.aueb.cf.webstore.core.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.aueb.cf.webstore.core.enums.FileFormat;
+import gr.aueb.cf.webstore.core.exceptions.AppObjectInvalidArgumentException;
+import gr.aueb.cf.webstore.dto.ProductImportRowDTO;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+public abstract class ProductImportReader implements Closeable {
+
+    public record Row(long line, String sku, ProductImportRowDTO data, String error) {
+
+        static Row failed(long line, String sku, String error) {
+            return new Row(line, sku, null, error);
+        }
+    }
+
+    protected final BufferedReader reader;
+    protected long lineNumber;
+
+    protected ProductImportReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    public static ProductImportReader open(InputStream input, FileFormat format, ObjectMapper objectMapper)
+            throws IOException, AppObjectInvalidArgumentException {
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+        return format == FileFormat.CSV ? new CsvProductImportReader(reader) : new NdjsonProductImportReader(reader, objectMapper);
+    }
+
+    /**
+     * Returns the next row, or null at the end of the input. Rows that cannot be parsed come back with an error
+     * instead of data so the caller can report them and keep going.
+     */
+    public abstract Row next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,331 @@
+package gr.aueb.cf.webstore.core.search;
+
+import gr.aueb.cf.webstore.core.filters.SpecCriterion;
+import gr.aueb.cf.webstore.core.tx.AfterCommit;
+import gr.aueb.cf.webstore.model.ProductSpec;
+import gr.aueb.cf.webstore.repository.ProductSpecRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Component
+@Slf4j
+public class ProductAttributeIndex {
+
+    private static final Pattern LEADING_NUMBER = Pattern.compile("^\\s*(-?\\d+(?:[.,]\\d+)?)");
+
+    private final ProductSpecRepository productSpecRepository;
+
+    private final Map<String, Attribute> attributes = new HashMap<>();
+    private final Map<Long, Map<String, String>> specsByProduct = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private static final class Attribute {
+        private final NavigableMap<String, Set<Long>> byValue = new TreeMap<>();
+        private final NavigableMap<BigDecimal, Set<Long>> byNumber = new TreeMap<>();
+    }
+
+    /**
+     * The normalized spec values a filter accepts, optionally restricted to one normalized spec name.
+     * A product matches when it has a spec with that name and one of these values.
+     */
+    public record ValueSet(String name, Set<String> values) {}
+
+    @Autowired
+    public ProductAttributeIndex(ProductSpecRepository productSpecRepository) {
+        this.productSpecRepository = productSpecRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+
+        List<ProductSpec> specs = productSpecRepository.findAll();
+
+        lock.writeLock().lock();
+        try {
+            attributes.clear();
+            specsByProduct.clear();
+            specs.forEach(spec -> addUnlocked(spec.getProduct().getId(), spec.getName(), spec.getValue()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Product attribute index built. specs={}, attributes={}", specs.size(), attributes.size());
+    }
+
+    /**
+     * Replaces every spec of a product once the current transaction commits; an empty map removes the product.
+     */
+    public void replace(Long productId, Map<String, String> specs) {
+
+        Map<String, String> snapshot = Map.copyOf(specs);
+
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                replaceUnlocked(productId, snapshot);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long productId) {
+        replace(productId, Map.of());
+    }
+
+    /**
+     * Reloads the specs of the given products and replaces their postings.
+     * Callers run this after their own writes have committed.
+     */
+    public void reindex(Collection<Long> productIds) {
+
+        if (productIds.isEmpty()) return;
+
+        Map<Long, Map<String, String>> specsById = new HashMap<>();
+
+        for (ProductSpec spec : productSpecRepository.findByProductIdIn(productIds)) {
+            specsById.computeIfAbsent(spec.getProduct().getId(), id -> new HashMap<>()).put(spec.getName(), spec.getValue());
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Long productId : productIds) {
+                replaceUnlocked(productId, specsById.getOrDefault(productId, Map.of()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Set<Long> match(String specName, String specValue, List<SpecCriterion> criteria) {
+
+        boolean noName = specName == null || specName.isBlank();
+        boolean noValue = specValue == null || specValue.isBlank();
+        boolean noCriteria = criteria == null || criteria.isEmpty();
+
+        if (noName && noValue && noCriteria) return null;
+
+        lock.readLock().lock();
+        try {
+            Set<Long> result = noName && noValue ? null : matchContains(specName, specValue);
+
+            if (!noCriteria) {
+                for (SpecCriterion criterion : criteria) {
+                    result = intersect(result, matchCriterion(criterion));
+                    if (result.isEmpty()) return result;
+                }
+            }
+
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Same filter as {@link #match}, expressed as accepted values per spec name instead of product ids.
+     * The value vocabulary stays small however many products match, so this suits a SQL predicate.
+     */
+    public List<ValueSet> matchValues(String specName, String specValue, List<SpecCriterion> criteria) {
+
+        List<ValueSet> result = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            if (!(specName == null || specName.isBlank()) || !(specValue == null || specValue.isBlank())) {
+
+                String name = specName == null || specName.isBlank() ? null : normalize(specName);
+                String value = specValue == null || specValue.isBlank() ? null : normalize(specValue);
+                Collection<Attribute> candidates = name == null
+                        ? attributes.values()
+                        : Optional.ofNullable(attributes.get(name)).map(List::of).orElse(List.of());
+
+                Set<String> values = new HashSet<>();
+
+                for (Attribute attribute : candidates) {
+                    attribute.byValue.keySet().stream().filter(v -> value == null || v.contains(value)).forEach(values::add);
+                }
+
+                result.add(new ValueSet(name, values));
+            }
+
+            if (criteria != null) {
+                for (SpecCriterion criterion : criteria) {
+                    result.add(criterionValues(criterion));
+                }
+            }
+
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private ValueSet criterionValues(SpecCriterion criterion) {
+
+        String name = criterion.name() == null ? null : normalize(criterion.name());
+        Attribute attribute = name == null ? null : attributes.get(name);
+
+        if (attribute == null) return new ValueSet(name, Set.of());
+
+        String equals = criterion.equals() == null ? null : normalize(criterion.equals());
+        String prefix = criterion.prefix() == null ? null : normalize(criterion.prefix());
+        Set<String> values = new HashSet<>();
+
+        for (String value : attribute.byValue.keySet()) {
+
+            if (equals != null && !value.equals(equals)) continue;
+            if (prefix != null && !value.startsWith(prefix)) continue;
+
+            if (criterion.min() != null || criterion.max() != null) {
+
+                BigDecimal number = parseNumber(value);
+
+                if (number == null) continue;
+                if (criterion.min() != null && number.compareTo(criterion.min()) < 0) continue;
+                if (criterion.max() != null && number.compareTo(criterion.max()) > 0) continue;
+            }
+
+            values.add(value);
+        }
+
+        return new ValueSet(name, values);
+    }
+
+    private Set<Long> matchContains(String specName, String specValue) {
+
+        String value = specValue == null || specValue.isBlank() ? null : normalize(specValue);
+        Collection<Attribute> candidates = specName == null || specName.isBlank()
+                ? attributes.values()
+                : Optional.ofNullable(attributes.get(normalize(specName))).map(List::of).orElse(List.of());
+
+        Set<Long> result = new HashSet<>();
+
+        for (Attribute attribute : candidates) {
+            attribute.byValue.forEach((indexedValue, ids) -> {
+                if (value == null || indexedValue.contains(value)) result.addAll(ids);
+            });
+        }
+
+        return result;
+    }
+
+    private Set<Long> matchCriterion(SpecCriterion criterion) {
+
+        Attribute attribute = criterion.name() == null ? null : attributes.get(normalize(criterion.name()));
+
+        if (attribute == null) return Set.of();
+
+        Set<Long> result = null;
+
+        if (criterion.equals() != null) {
+            result = intersect(result, attribute.byValue.getOrDefault(normalize(criterion.equals()), Set.of()));
+        }
+
+        if (criterion.prefix() != null) {
+            String prefix = normalize(criterion.prefix());
+            result = intersect(result, union(attribute.byValue.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()));
+        }
+
+        if (criterion.min() != null || criterion.max() != null) {
+
+            NavigableMap<BigDecimal, Set<Long>> range = attribute.byNumber;
+
+            if (criterion.min() != null) range = range.tailMap(criterion.min(), true);
+            if (criterion.max() != null) range = range.headMap(criterion.max(), true);
+
+            result = intersect(result, union(range.values()));
+        }
+
+        return result != null ? result : union(attribute.byValue.values());
+    }
+
+    private void replaceUnlocked(Long productId, Map<String, String> specs) {
+
+        Map<String, String> previous = specsByProduct.remove(productId);
+
+        if (previous != null) previous.forEach((name, value) -> removeUnlocked(productId, name, value));
+
+        specs.forEach((name, value) -> addUnlocked(productId, name, value));
+    }
+
+    private void removeUnlocked(Long productId, String name, String value) {
+
+        Attribute attribute = attributes.get(normalize(name));
+
+        if (attribute == null) return;
+
+        removePosting(attribute.byValue, normalize(value), productId);
+
+        BigDecimal number = parseNumber(value);
+
+        if (number != null) removePosting(attribute.byNumber, number, productId);
+
+        if (attribute.byValue.isEmpty()) attributes.remove(normalize(name));
+    }
+
+    private static <K> void removePosting(Map<K, Set<Long>> postings, K key, Long productId) {
+
+        Set<Long> ids = postings.get(key);
+
+        if (ids == null) return;
+
+        ids.remove(productId);
+
+        if (ids.isEmpty()) postings.remove(key);
+    }
+
+    private void addUnlocked(Long productId, String name, String value) {
+
+        if (name == null || value == null) return;
+
+        specsByProduct.computeIfAbsent(productId, id -> new HashMap<>()).put(name, value);
+
+        Attribute attribute = attributes.computeIfAbsent(normalize(name), n -> new Attribute());
+
+        attribute.byValue.computeIfAbsent(normalize(value), v -> new HashSet<>()).add(productId);
+
+        BigDecimal number = parseNumber(value);
+
+        if (number != null) attribute.byNumber.computeIfAbsent(number, n -> new HashSet<>()).add(productId);
+    }
+
+    private static Set<Long> intersect(Set<Long> current, Set<Long> matches) {
+
+        if (current == null) return new HashSet<>(matches);
+
+        current.retainAll(matches);
+
+        return current;
+    }
+
+    private static Set<Long> union(Collection<Set<Long>> postings) {
+
+        Set<Long> result = new HashSet<>();
+
+        postings.forEach(result::addAll);
+
+        return result;
+    }
+
+    private static BigDecimal parseNumber(String value) {
+
+        Matcher matcher = LEADING_NUMBER.matcher(value);
+
+        return matcher.find() ? new BigDecimal(matcher.group(1).replace(',', '.')) : null;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toUpperCase(Locale.ROOT);
+    }
+}
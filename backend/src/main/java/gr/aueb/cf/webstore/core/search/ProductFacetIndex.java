@@ -0,0 +1,425 @@
+package gr.aueb.cf.webstore.core.search;
+
+import gr.aueb.cf.webstore.core.filters.ProductFilters;
+import gr.aueb.cf.webstore.core.tx.AfterCommit;
+import gr.aueb.cf.webstore.dto.ProductFacetsDTO;
+import gr.aueb.cf.webstore.model.Product;
+import gr.aueb.cf.webstore.model.ProductSpec;
+import gr.aueb.cf.webstore.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@Slf4j
+public class ProductFacetIndex {
+
+    private static final List<BigDecimal> PRICE_BUCKET_EDGES = List.of(
+            new BigDecimal("200"), new BigDecimal("400"), new BigDecimal("600"), new BigDecimal("1000"));
+
+    private final ProductRepository productRepository;
+
+    private final Map<Long, Integer> ordinalsById = new HashMap<>();
+    private final List<FacetDocument> documents = new ArrayList<>();
+    private final BitSet live = new BitSet();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final BitSet active = new BitSet();
+    private final Map<String, BitSet> byCategory = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, BitSet> byBrand = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, BitSet> byPriceRange = new LinkedHashMap<>();
+    private final NavigableMap<BigDecimal, BitSet> byPrice = new TreeMap<>();
+    private final Map<String, Map<String, BitSet>> bySpec = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private record FacetDocument(Long id, String name, String category, String brand, BigDecimal price, String priceRange, Map<String, String> specs) {}
+
+    @Autowired
+    public ProductFacetIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+
+        List<Product> products = productRepository.findAllWithDetails();
+
+        lock.writeLock().lock();
+        try {
+            ordinalsById.clear();
+            documents.clear();
+            live.clear();
+            freeOrdinals.clear();
+            active.clear();
+            byCategory.clear();
+            byBrand.clear();
+            byPriceRange.clear();
+            byPrice.clear();
+            bySpec.clear();
+
+            priceRangeLabels().forEach(label -> byPriceRange.put(label, new BitSet()));
+            products.forEach(this::indexUnlocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Product facet index built. products={}, brands={}, specNames={}", products.size(), byBrand.size(), bySpec.size());
+    }
+
+    /**
+     * Snapshots the product (category name, specs) now and applies it once the current transaction commits.
+     */
+    public void index(Product product) {
+
+        FacetDocument document = document(product);
+        boolean isActive = Boolean.TRUE.equals(product.getIsActive());
+
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                indexUnlocked(document, isActive);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Reloads the given products with their category and specs and re-indexes them; ids that no longer exist
+     * are dropped and their ordinals reused. Callers run this after their own writes have committed.
+     */
+    @Transactional(readOnly = true)
+    public void reindex(Collection<Long> productIds) {
+
+        if (productIds.isEmpty()) return;
+
+        List<Product> products = productRepository.findAllWithDetailsByIdIn(productIds);
+        Set<Long> deleted = new HashSet<>(productIds);
+
+        lock.writeLock().lock();
+        try {
+            for (Product product : products) {
+                indexUnlocked(product);
+                deleted.remove(product.getId());
+            }
+            deleted.forEach(this::removeUnlocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves every product of a renamed category to the new name once the current transaction commits.
+     */
+    public void renameCategory(String oldName, String newName) {
+
+        if (oldName == null || newName == null || oldName.equals(newName)) return;
+
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                BitSet members = byCategory.remove(oldName);
+
+                if (members == null) return;
+
+                byCategory.computeIfAbsent(newName, n -> new BitSet()).or(members);
+
+                for (int i = members.nextSetBit(0); i >= 0; i = members.nextSetBit(i + 1)) {
+                    FacetDocument document = documents.get(i);
+                    documents.set(i, new FacetDocument(document.id(), document.name(), newName, document.brand(),
+                            document.price(), document.priceRange(), document.specs()));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public List<Long> productIdsInCategory(String category) {
+
+        lock.readLock().lock();
+        try {
+            BitSet members = byCategory.get(category);
+
+            if (members == null) return List.of();
+
+            List<Long> ids = new ArrayList<>(members.cardinality());
+            for (int i = members.nextSetBit(0); i >= 0; i = members.nextSetBit(i + 1)) ids.add(documents.get(i).id());
+
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Category and brand filters name a facet value exactly (ignoring case), as listed by a previous call.
+     */
+    public ProductFacetsDTO facets(ProductFilters filters, Collection<Long> textMatches) {
+
+        lock.readLock().lock();
+        try {
+            BitSet base = baseMatches(filters, textMatches);
+            BitSet category = valueMatches(byCategory, filters.getCategory());
+            BitSet brand = valueMatches(byBrand, filters.getBrand());
+            BitSet price = priceMatches(filters.getMinPrice(), filters.getMaxPrice());
+            BitSet spec = specMatches(filters.getSpecName(), filters.getSpecValue());
+
+            Map<String, Map<String, Integer>> specCounts = new TreeMap<>();
+            BitSet withoutSpec = intersect(base, category, brand, price);
+
+            bySpec.forEach((name, values) -> {
+                Map<String, Integer> counts = counts(values, withoutSpec);
+                if (!counts.isEmpty()) specCounts.put(name, counts);
+            });
+
+            return new ProductFacetsDTO(
+                    intersect(base, category, brand, price, spec).cardinality(),
+                    counts(byCategory, intersect(base, brand, price, spec)),
+                    counts(byBrand, intersect(base, category, price, spec)),
+                    counts(byPriceRange, intersect(base, category, brand, spec)),
+                    specCounts
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet baseMatches(ProductFilters filters, Collection<Long> textMatches) {
+
+        BitSet base = (BitSet) live.clone();
+
+        if (filters.getIsActive() != null) {
+            if (filters.getIsActive()) base.and(active);
+            else base.andNot(active);
+        }
+
+        if (textMatches != null) {
+            BitSet text = new BitSet(documents.size());
+            for (Long id : textMatches) {
+                Integer ordinal = ordinalsById.get(id);
+                if (ordinal != null) text.set(ordinal);
+            }
+            base.and(text);
+        }
+
+        String name = normalize(filters.getName());
+
+        if (name != null) {
+            for (int i = base.nextSetBit(0); i >= 0; i = base.nextSetBit(i + 1)) {
+                if (!contains(documents.get(i).name(), name)) base.clear(i);
+            }
+        }
+
+        return base;
+    }
+
+    private static BitSet valueMatches(Map<String, BitSet> facet, String filter) {
+
+        if (filter == null || filter.isBlank()) return null;
+
+        BitSet bits = facet.get(filter.trim());
+
+        return bits != null ? bits : new BitSet();
+    }
+
+    private BitSet priceMatches(BigDecimal minPrice, BigDecimal maxPrice) {
+
+        if (minPrice == null && maxPrice == null) return null;
+
+        NavigableMap<BigDecimal, BitSet> range = byPrice;
+
+        if (minPrice != null) range = range.tailMap(minPrice, true);
+        if (maxPrice != null) range = range.headMap(maxPrice, true);
+
+        BitSet matches = new BitSet(documents.size());
+
+        range.values().forEach(matches::or);
+
+        return matches;
+    }
+
+    private BitSet specMatches(String specName, String specValue) {
+
+        String name = specName == null || specName.isBlank() ? null : specName.trim();
+        String value = normalize(specValue);
+
+        if (name == null && value == null) return null;
+
+        BitSet matches = new BitSet(documents.size());
+
+        bySpec.forEach((specKey, values) -> {
+            if (name != null && !specKey.equalsIgnoreCase(name)) return;
+
+            values.forEach((specVal, bits) -> {
+                if (value == null || contains(specVal, value)) matches.or(bits);
+            });
+        });
+
+        return matches;
+    }
+
+    private static BitSet intersect(BitSet base, BitSet... filters) {
+
+        BitSet result = (BitSet) base.clone();
+
+        for (BitSet filter : filters) {
+            if (filter != null) result.and(filter);
+        }
+
+        return result;
+    }
+
+    private static Map<String, Integer> counts(Map<String, BitSet> facet, BitSet matches) {
+
+        Map<String, Integer> counts = new LinkedHashMap<>();
+
+        facet.forEach((value, bits) -> {
+            BitSet hits = (BitSet) bits.clone();
+            hits.and(matches);
+            int count = hits.cardinality();
+            if (count > 0) counts.put(value, count);
+        });
+
+        return counts;
+    }
+
+    private static FacetDocument document(Product product) {
+
+        Map<String, String> specs = new HashMap<>();
+
+        for (ProductSpec spec : product.getProductSpecs()) {
+            specs.put(spec.getName(), spec.getValue());
+        }
+
+        return new FacetDocument(
+                product.getId(),
+                product.getName(),
+                product.getCategory() != null ? product.getCategory().getName() : null,
+                product.getBrand(),
+                product.getPrice(),
+                priceRange(product.getPrice()),
+                specs
+        );
+    }
+
+    private void indexUnlocked(Product product) {
+        indexUnlocked(document(product), Boolean.TRUE.equals(product.getIsActive()));
+    }
+
+    private void indexUnlocked(FacetDocument document, boolean isActive) {
+
+        Integer ordinal = ordinalsById.get(document.id());
+
+        if (ordinal != null) {
+            unindex(ordinal, documents.get(ordinal));
+        } else if (!freeOrdinals.isEmpty()) {
+            ordinal = freeOrdinals.pop();
+            ordinalsById.put(document.id(), ordinal);
+        } else {
+            ordinal = documents.size();
+            ordinalsById.put(document.id(), ordinal);
+            documents.add(null);
+        }
+
+        documents.set(ordinal, document);
+        live.set(ordinal);
+
+        if (isActive) active.set(ordinal);
+        else active.clear(ordinal);
+
+        set(byCategory, document.category(), ordinal);
+        set(byBrand, document.brand(), ordinal);
+        set(byPriceRange, document.priceRange(), ordinal);
+        set(byPrice, document.price(), ordinal);
+        for (Map.Entry<String, String> spec : document.specs().entrySet()) {
+            set(bySpec.computeIfAbsent(spec.getKey(), n -> new TreeMap<>()), spec.getValue(), ordinal);
+        }
+    }
+
+    private void removeUnlocked(Long productId) {
+
+        Integer ordinal = ordinalsById.remove(productId);
+
+        if (ordinal == null) return;
+
+        unindex(ordinal, documents.get(ordinal));
+        documents.set(ordinal, null);
+        live.clear(ordinal);
+        active.clear(ordinal);
+        freeOrdinals.push(ordinal);
+    }
+
+    private void unindex(int ordinal, FacetDocument document) {
+
+        clear(byCategory, document.category(), ordinal);
+        clear(byBrand, document.brand(), ordinal);
+        clear(byPriceRange, document.priceRange(), ordinal);
+        clear(byPrice, document.price(), ordinal);
+        if (document.price() != null && byPrice.get(document.price()).isEmpty()) byPrice.remove(document.price());
+
+        document.specs().forEach((name, value) -> {
+            Map<String, BitSet> values = bySpec.get(name);
+            if (values != null) clear(values, value, ordinal);
+        });
+    }
+
+    private static <K> void set(Map<K, BitSet> facet, K value, int ordinal) {
+        if (value == null) return;
+        facet.computeIfAbsent(value, v -> new BitSet()).set(ordinal);
+    }
+
+    private static <K> void clear(Map<K, BitSet> facet, K value, int ordinal) {
+
+        if (value == null) return;
+
+        BitSet bits = facet.get(value);
+
+        if (bits != null) bits.clear(ordinal);
+    }
+
+    private static List<String> priceRangeLabels() {
+
+        List<String> labels = new ArrayList<>();
+        BigDecimal lower = BigDecimal.ZERO;
+
+        for (BigDecimal edge : PRICE_BUCKET_EDGES) {
+            labels.add(lower.toPlainString() + "-" + edge.toPlainString());
+            lower = edge;
+        }
+
+        labels.add(lower.toPlainString() + "+");
+
+        return labels;
+    }
+
+    private static String priceRange(BigDecimal price) {
+
+        if (price == null) return null;
+
+        BigDecimal lower = BigDecimal.ZERO;
+
+        for (BigDecimal edge : PRICE_BUCKET_EDGES) {
+            if (price.compareTo(edge) < 0) return lower.toPlainString() + "-" + edge.toPlainString();
+            lower = edge;
+        }
+
+        return lower.toPlainString() + "+";
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static boolean contains(String value, String normalizedNeedle) {
+        return value != null && value.toUpperCase(Locale.ROOT).contains(normalizedNeedle);
+    }
+}
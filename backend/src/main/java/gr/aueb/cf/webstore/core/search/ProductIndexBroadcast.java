@@ -0,0 +1,99 @@
+package gr.aueb.cf.webstore.core.search;
+
+import gr.aueb.cf.webstore.core.tx.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the in-memory product indexes of every node in step. The writing node updates its own indexes directly;
+ * once its transaction commits it publishes the touched product ids on {@link #CHANNEL}, and every other node
+ * reloads those products from the database. A lost message leaves that node stale until its next restart.
+ */
+@Component
+@Slf4j
+public class ProductIndexBroadcast {
+
+    public static final String CHANNEL = "product-index:updates";
+
+    private static final String ORIGIN_SEPARATOR = "|";
+
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductFacetIndex productFacetIndex;
+    private final ProductAttributeIndex productAttributeIndex;
+    private final StringRedisTemplate redisTemplate;
+    private final boolean broadcast;
+    private final String origin = UUID.randomUUID().toString();
+
+    @Autowired
+    public ProductIndexBroadcast(ProductSearchIndex productSearchIndex, ProductFacetIndex productFacetIndex,
+                                 ProductAttributeIndex productAttributeIndex, StringRedisTemplate redisTemplate,
+                                 @Value("${app.search.index-broadcast:false}") boolean broadcast) {
+        this.productSearchIndex = productSearchIndex;
+        this.productFacetIndex = productFacetIndex;
+        this.productAttributeIndex = productAttributeIndex;
+        this.redisTemplate = redisTemplate;
+        this.broadcast = broadcast;
+    }
+
+    /**
+     * Publishes the ids once the current transaction commits, so other nodes never reload uncommitted rows.
+     */
+    public void publish(Collection<Long> productIds) {
+
+        if (!broadcast || productIds.isEmpty()) return;
+
+        String message = origin + ORIGIN_SEPARATOR + productIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+
+        AfterCommit.run(() -> {
+            try {
+                redisTemplate.convertAndSend(CHANNEL, message);
+            } catch (RuntimeException e) {
+                log.warn("Failed to publish product index update for {} products", productIds.size(), e);
+            }
+        });
+    }
+
+    /**
+     * Reindexes the products named by a message from another node; this node's own messages are skipped.
+     */
+    public void onMessage(String message) {
+
+        int separator = message.indexOf(ORIGIN_SEPARATOR);
+
+        if (separator < 0) {
+            log.warn("Ignoring malformed product index message {}", message);
+            return;
+        }
+
+        if (message.substring(0, separator).equals(origin)) return;
+
+        List<Long> productIds = new ArrayList<>();
+
+        try {
+            for (String id : message.substring(separator + 1).split(",")) productIds.add(Long.valueOf(id));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed product index message {}", message);
+            return;
+        }
+
+        reindex(productIds);
+    }
+
+    /**
+     * Reloads the given products into this node's indexes. Callers run this after their own writes have committed.
+     */
+    public void reindex(Collection<Long> productIds) {
+        productSearchIndex.reindex(productIds);
+        productFacetIndex.reindex(productIds);
+        productAttributeIndex.reindex(productIds);
+    }
+}
@@ -0,0 +1,200 @@
+package gr.aueb.cf.webstore.core.search;
+
+import gr.aueb.cf.webstore.core.tx.AfterCommit;
+import gr.aueb.cf.webstore.model.Product;
+import gr.aueb.cf.webstore.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@Slf4j
+public class ProductSearchIndex {
+
+    private static final int NAME_WEIGHT = 8;
+    private static final int SKU_WEIGHT = 4;
+    private static final int BRAND_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final ProductRepository productRepository;
+
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> termsByProduct = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+
+        List<Product> products = productRepository.findAll();
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByProduct.clear();
+            products.forEach(product -> addUnlocked(product.getId(), weights(product)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Product search index built. products={}, terms={}", products.size(), postings.size());
+    }
+
+    /**
+     * Tokenizes the product now and swaps its postings in once the current transaction commits.
+     */
+    public void index(Product product) {
+
+        Long productId = product.getId();
+        Map<String, Integer> weights = weights(product);
+
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                removeUnlocked(productId);
+                addUnlocked(productId, weights);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Reloads the given products and replaces their postings; ids that no longer exist are dropped.
+     * Callers run this after their own writes have committed.
+     */
+    public void reindex(Collection<Long> productIds) {
+
+        if (productIds.isEmpty()) return;
+
+        Map<Long, Map<String, Integer>> weightsById = new HashMap<>();
+
+        for (Product product : productRepository.findAllById(productIds)) {
+            weightsById.put(product.getId(), weights(product));
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Long productId : productIds) {
+                removeUnlocked(productId);
+                Map<String, Integer> weights = weightsById.get(productId);
+                if (weights != null) addUnlocked(productId, weights);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String text, int limit) {
+
+        List<String> queryTokens = tokenize(text);
+
+        if (queryTokens.isEmpty()) return List.of();
+
+        Map<Long, Integer> scores = null;
+
+        lock.readLock().lock();
+        try {
+            for (String token : queryTokens) {
+
+                Map<Long, Integer> tokenScores = scoreToken(token);
+
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+
+                if (scores.isEmpty()) return List.of();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<Long, Integer> ranked = scores;
+
+        return ranked.keySet().stream()
+                .sorted(Comparator.comparing((Long id) -> ranked.get(id)).reversed().thenComparing(Comparator.naturalOrder()))
+                .limit(limit)
+                .toList();
+    }
+
+    private Map<Long, Integer> scoreToken(String token) {
+
+        Map<Long, Integer> tokenScores = new HashMap<>();
+
+        for (Map.Entry<String, Map<Long, Integer>> term : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+
+            boolean exact = term.getKey().length() == token.length();
+
+            term.getValue().forEach((id, weight) -> tokenScores.merge(id, exact ? weight * 2 : weight, Math::max));
+        }
+
+        return tokenScores;
+    }
+
+    private static Map<String, Integer> weights(Product product) {
+
+        Map<String, Integer> weights = new HashMap<>();
+
+        addField(weights, product.getName(), NAME_WEIGHT);
+        addField(weights, product.getSku(), SKU_WEIGHT);
+        addField(weights, product.getBrand(), BRAND_WEIGHT);
+        addField(weights, product.getDescription(), DESCRIPTION_WEIGHT);
+
+        return weights;
+    }
+
+    private void addUnlocked(Long productId, Map<String, Integer> weights) {
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(productId, weight));
+        termsByProduct.put(productId, weights.keySet());
+    }
+
+    private void removeUnlocked(Long productId) {
+
+        Set<String> terms = termsByProduct.remove(productId);
+
+        if (terms == null) return;
+
+        for (String term : terms) {
+
+            Map<Long, Integer> posting = postings.get(term);
+
+            if (posting == null) continue;
+
+            posting.remove(productId);
+
+            if (posting.isEmpty()) postings.remove(term);
+        }
+    }
+
+    private static void addField(Map<String, Integer> weights, String value, int weight) {
+        for (String token : tokenize(value)) {
+            weights.merge(token, weight, Integer::sum);
+        }
+    }
+
+    static List<String> tokenize(String value) {
+
+        if (value == null || value.isBlank()) return List.of();
+
+        List<String> tokens = new ArrayList<>();
+
+        for (String token : value.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+
+        return tokens;
+    }
+}
@@ -0,0 +1,51 @@
+package gr.aueb.cf.webstore.core.specifications;
+
+import gr.aueb.cf.webstore.model.Category;
+import org.springframework.data.jpa.domain.Specification;
+
+public class CategorySpecification {
+
+    private CategorySpecification() {}
+
+    public static Specification<Category> categoryIdIs(String categoryId) {
+
+        return (root, query, criteriaBuilder) -> {
+
+            if (categoryId == null || categoryId.isBlank()) {
+
+                return criteriaBuilder.conjunction();
+            }
+
+            String value = categoryId.trim();
+
+            if (!value.chars().allMatch(Character::isDigit) || value.length() > 18) {
+
+                return criteriaBuilder.disjunction();
+            }
+
+            return criteriaBuilder.equal(root.get("id"), Long.valueOf(value));
+        };
+    }
+
+    /**
+     * Prefix match on the unique name index. The column collation is already case-insensitive,
+     * so the value is not wrapped in upper() the way the contains filters are.
+     */
+    public static Specification<Category> nameStartsWith(String name) {
+
+        return (root, query, criteriaBuilder) -> {
+
+            if (name == null || name.isBlank()) {
+
+                return criteriaBuilder.conjunction();
+            }
+
+            String escaped = name.trim()
+                    .replace("!", "!!")
+                    .replace("%", "!%")
+                    .replace("_", "!_");
+
+            return criteriaBuilder.like(root.get("name"), escaped + "%", '!');
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package gr.aueb.cf.webstore.core.specifications;
+
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public class KeysetSpecification {
+
+    private static final String ID = "id";
+
+    private KeysetSpecification() {}
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> Specification<T> after(String sortBy, Sort.Direction direction, Comparable sortValue, Long lastId) {
+
+        return (root, query, criteriaBuilder) -> {
+
+            Path<Long> id = root.get(ID);
+            boolean ascending = direction.isAscending();
+
+            var idAfter = ascending ? criteriaBuilder.greaterThan(id, lastId) : criteriaBuilder.lessThan(id, lastId);
+
+            if (ID.equals(sortBy)) {
+                return idAfter;
+            }
+
+            Path<Comparable> column = root.get(sortBy);
+
+            // MySQL orders NULLs first ascending and last descending, so the NULL block sits on different sides of the cursor.
+            // The ORDER BY leaves that to the database (an explicit NULLS FIRST is emulated on MySQL and defeats the index).
+            if (sortValue == null) {
+
+                var nullTie = criteriaBuilder.and(criteriaBuilder.isNull(column), idAfter);
+
+                return ascending ? criteriaBuilder.or(nullTie, criteriaBuilder.isNotNull(column)) : nullTie;
+            }
+
+            var tie = criteriaBuilder.and(criteriaBuilder.equal(column, sortValue), idAfter);
+
+            if (ascending) {
+                return criteriaBuilder.or(criteriaBuilder.greaterThan(column, sortValue), tie);
+            }
+
+            return criteriaBuilder.or(criteriaBuilder.lessThan(column, sortValue), tie, criteriaBuilder.isNull(column));
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package gr.aueb.cf.webstore.core.specifications;
+
+import gr.aueb.cf.webstore.core.enums.OrderStatus;
+import gr.aueb.cf.webstore.model.Order;
+import gr.aueb.cf.webstore.model.User;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+public class OrderSpecification {
+
+    private OrderSpecification() {}
+
+    public static Specification<Order> orderStatusIs(OrderStatus status) {
+
+        return (root, query, criteriaBuilder) -> {
+
+            if (status == null) {
+
+                return criteriaBuilder.conjunction();
+            }
+
+            return criteriaBuilder.equal(root.get("status"), status);
+        };
+    }
+
+    /**
+     * Matches either the numeric id or the order code, both of which are unique keys.
+     */
+    public static Specification<Order> orderIdIs(String orderId) {
+
+        return (root, query, criteriaBuilder) -> {
+
+            if (orderId == null || orderId.isBlank()) {
+
+                return criteriaBuilder.conjunction();
+            }
+
+            String value = orderId.trim();
+            var byCode = criteriaBuilder.equal(root.get("orderCode"), value.toUpperCase(Locale.ROOT));
+
+            if (!value.chars().allMatch(Character::isDigit) || value.length() > 18) {
+
+                return byCode;
+            }
+
+            return criteriaBuilder.or(criteriaBuilder.equal(root.get("id"), Long.valueOf(value)), byCode);
+        };
+    }
+
+    /**
+     * Compares the user_id column against the id behind the uuid instead of joining users, so the
+     * (user_id, created_at) index drives the scan.
+     */
+    public static Specification<Order> userUuidIs(String userUuid) {
+
+        return (root, query, criteriaBuilder) -> {
+
+            if (userUuid == null || userUuid.isBlank()) {
+
+                return criteriaBuilder.conjunction();
+            }
+
+            Subquery<Long> userId = query.subquery(Long.class);
+            Root<User> user = userId.from(User.class);
+            userId.select(user.get("id")).where(criteriaBuilder.equal(user.get("uuid"), userUuid.trim()));
+
+            return root.get("user").get("id").in(userId);
+        };
+    }
+
+    /**
+     * Both dates are inclusive days, turned into a half-open range on the raw created_at column.
+     */
+    public static Specification<Order> createdBetween(LocalDate dateFrom, LocalDate dateTo) {
+
+        return (root, query, criteriaBuilder) -> {
+
+            if (dateFrom == null && dateTo == null) {
+
+                return criteriaBuilder.conjunction();
+            }
+
+            if (dateFrom == null) {
+
+                return criteriaBuilder.lessThan(root.get("createdAt"), dateTo.plusDays(1).atStartOfDay());
+            }
+
+            if (dateTo == null) {
+
+                return criteriaBuilder.greaterThanOrEqualTo(root.get("createdAt"), dateFrom.atStartOfDay());
+            }
+
+            return criteriaBuilder.and(
+                    criteriaBuilder.greaterThanOrEqualTo(root.get("createdAt"), dateFrom.atStartOfDay()),
+                    criteriaBuilder.lessThan(root.get("createdAt"), dateTo.plusDays(1).atStartOfDay()));
+        };
+    }
+}
@@ -4,9 +4,13 @@ import gr.aueb.cf.webstore.model.Category;
 import gr.aueb.cf.webstore.model.Product;
 import gr.aueb.cf.webstore.model.ProductSpec;
 import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 
 public class ProductSpecification {
 
@@ -76,36 +80,30 @@ public class ProductSpecification {
         };
     }
 
-    public static Specification<Product> specLike(String specName, String specValue) {
-
-        return (root, query, criteriaBuilder) -> {
-
-            boolean noName = (specName == null || specName.trim().isEmpty());
-
-            boolean noValue = (specValue == null || specValue.trim().isEmpty());
+    public static Specification<Product> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids);
+    }
 
+    /**
+     * EXISTS a spec row of the product with the given (normalized) name and one of the given normalized values.
+     * Used instead of {@link #idIn} when the attribute index matches too many products for an IN list.
+     */
+    public static Specification<Product> hasSpecValueIn(String name, Collection<String> values) {
 
-            if (noName && noValue) {
-                return criteriaBuilder.isTrue(criteriaBuilder.literal(true));
-            }
+        return (root, query, cb) -> {
 
-            Join<Product, ProductSpec> specJoin = root.join("productSpecs");
+            if (values.isEmpty()) return cb.disjunction();
 
-            var predicate = criteriaBuilder.conjunction();
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<ProductSpec> spec = subquery.from(ProductSpec.class);
 
-            if (!noName) {
-                predicate = criteriaBuilder.and(predicate, criteriaBuilder.equal(
-                                criteriaBuilder.upper(specJoin.get("name")), specName.trim().toUpperCase()));
-            }
-
-            if (!noValue) {
-                predicate = criteriaBuilder.and(predicate, criteriaBuilder.like
-                        (criteriaBuilder.upper(specJoin.get("value")), "%" + specValue.trim().toUpperCase() + "%"));
-            }
+            Predicate matches = cb.and(
+                    cb.equal(spec.get("product"), root),
+                    cb.upper(cb.trim(spec.get("value"))).in(values));
 
-            if (query != null) query.distinct(true);
+            if (name != null) matches = cb.and(matches, cb.equal(cb.upper(cb.trim(spec.get("name"))), name));
 
-            return predicate;
+            return cb.exists(subquery.select(spec.get("id")).where(matches));
         };
     }
 
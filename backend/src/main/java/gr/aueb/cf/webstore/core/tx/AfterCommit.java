@@ -0,0 +1,28 @@
+package gr.aueb.cf.webstore.core.tx;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers a side effect outside the database (an in-memory index, Redis, a token delete) until the surrounding
+ * transaction commits, so a rollback never leaves it applied. Without a transaction the action runs at once.
+ */
+public class AfterCommit {
+
+    private AfterCommit() {}
+
+    public static void run(Runnable action) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,11 @@
+package gr.aueb.cf.webstore.dto;
+
+import java.util.Map;
+
+public record ProductFacetsDTO(
+        int total,
+        Map<String, Integer> categories,
+        Map<String, Integer> brands,
+        Map<String, Integer> priceRanges,
+        Map<String, Map<String, Integer>> specs
+) {}
@@ -0,0 +1,7 @@
+package gr.aueb.cf.webstore.dto;
+
+public record ProductImportErrorDTO(
+        long line,
+        String sku,
+        String message
+) {}
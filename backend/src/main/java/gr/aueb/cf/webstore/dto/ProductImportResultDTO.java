@@ -0,0 +1,11 @@
+package gr.aueb.cf.webstore.dto;
+
+import java.util.List;
+
+public record ProductImportResultDTO(
+        int processed,
+        int created,
+        int updated,
+        int failed,
+        List<ProductImportErrorDTO> errors
+) {}
@@ -0,0 +1,41 @@
+package gr.aueb.cf.webstore.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public record ProductImportRowDTO(
+        @NotBlank(message = "SKU is required")
+        @Size(max = 255, message = "SKU is too long")
+        String sku,
+
+        @NotBlank(message = "Name is required")
+        @Size(max = 255, message = "Name is too long")
+        String name,
+
+        @NotBlank(message = "Description is required")
+        @Size(max = 1000, message = "Description is too long")
+        String description,
+
+        @NotNull(message = "Price is required")
+        @PositiveOrZero(message = "Price cannot be negative")
+        BigDecimal price,
+
+        @NotNull(message = "Stock is required")
+        @PositiveOrZero(message = "Stock cannot be negative")
+        Integer stock,
+
+        @NotBlank(message = "Category is required")
+        String category,
+
+        @Size(max = 255, message = "Brand is too long")
+        String brand,
+
+        Boolean isActive,
+
+        Map<String, String> specs
+) {}
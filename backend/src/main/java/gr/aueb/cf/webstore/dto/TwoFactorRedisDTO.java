@@ -1,3 +0,0 @@
-package gr.aueb.cf.webstore.dto;
-
-public record TwoFactorRedisDTO (String email, String code) {}
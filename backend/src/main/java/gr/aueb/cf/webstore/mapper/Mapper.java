@@ -7,6 +7,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Component
@@ -187,6 +188,10 @@ public class Mapper {
     }
 
     public OrderReadOnlyDTO mapToOrderReadOnlyDTO(Order order) {
+        return mapToOrderReadOnlyDTO(order, order.getOrderItems(), order.getPayments());
+    }
+
+    public OrderReadOnlyDTO mapToOrderReadOnlyDTO(Order order, Collection<OrderItem> orderItems, Collection<Payment> payments) {
 
         UserReadOnlyDTO userReadOnlyDTO = new UserReadOnlyDTO(
                 order.getUser().getId(),
@@ -199,7 +204,7 @@ public class Mapper {
                 order.getUser().getIsActive()
         );
 
-        List<OrderItemReadOnlyDTO> itemsDTO = order.getOrderItems()
+        List<OrderItemReadOnlyDTO> itemsDTO = orderItems
                 .stream()
                 .map(item -> new OrderItemReadOnlyDTO(
                         item.getProduct().getId(),
@@ -209,7 +214,7 @@ public class Mapper {
                         item.getTax()
                 )).toList();
 
-        List<PaymentReadOnlyDTO> paymentsDTO = order.getPayments()
+        List<PaymentReadOnlyDTO> paymentsDTO = payments
                 .stream()
                 .map(payment -> new PaymentReadOnlyDTO(
                         payment.getId(),
@@ -220,7 +225,7 @@ public class Mapper {
                         payment.getStatus(),
                         payment.getCardBrand(),
                         payment.getCardLastFourDigits(),
-                        payment.getOrder().getId()
+                        order.getId()
                 ))
                 .toList();
 
@@ -2,10 +2,12 @@ package gr.aueb.cf.webstore.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@BatchSize(size = 50)
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -18,7 +18,8 @@ import java.util.UUID;
 public class Order extends AbstractEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_id")
+    @SequenceGenerator(name = "order_id", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "order_code", unique = true, nullable = false, updatable = false)
@@ -2,6 +2,7 @@ package gr.aueb.cf.webstore.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.Set;
@@ -23,6 +24,7 @@ public class Product extends AbstractEntity {
     private Category category;
 
     @OneToMany(mappedBy = "product", orphanRemoval = true, cascade = CascadeType.ALL)
+    @BatchSize(size = 50)
     private Set<ProductSpec> productSpecs = new HashSet<>();
 
     @Column(nullable = false)
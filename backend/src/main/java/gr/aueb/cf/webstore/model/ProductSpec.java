@@ -12,7 +12,8 @@ import lombok.*;
 @Table(name = "product_specs")
 public class ProductSpec extends AbstractEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_spec_id")
+    @SequenceGenerator(name = "product_spec_id", sequenceName = "product_specs_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
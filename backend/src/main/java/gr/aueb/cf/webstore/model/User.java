@@ -3,6 +3,7 @@ package gr.aueb.cf.webstore.model;
 import gr.aueb.cf.webstore.core.enums.Role;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.ColumnDefault;
 import org.springframework.lang.Nullable;
 import org.springframework.security.core.GrantedAuthority;
@@ -11,6 +12,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.*;
 
 @Entity
+@BatchSize(size = 50)
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -50,9 +52,23 @@ public class User extends AbstractEntity implements UserDetails {
     @Column(nullable = false)
     private String password;
 
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer tokenVersion = 0;
+
     @PrePersist
     public void initializeUUID() {
         if (uuid == null) uuid = UUID.randomUUID().toString();
+        if (tokenVersion == null) tokenVersion = 0;
+    }
+
+    /**
+     * Invalidates every token issued so far; callers evict the cached principal so every node sees the new value.
+     */
+    public int bumpTokenVersion() {
+        tokenVersion = tokenVersion == null ? 1 : tokenVersion + 1;
+        return tokenVersion;
     }
 
     @OneToMany(mappedBy = "user")
@@ -0,0 +1,96 @@
+package gr.aueb.cf.webstore.repository;
+
+import gr.aueb.cf.webstore.core.filters.OrderFilters;
+import gr.aueb.cf.webstore.core.filters.PaymentFilters;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+public class ExportRepository {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String ORDERS_SQL = """
+            SELECT o.`id`, o.`order_code`, o.`created_at`, o.`status`, u.`uuid` AS `user_uuid`, u.`email` AS `user_email`, o.`total_price`,
+                (SELECT COALESCE(SUM(oi.`tax`), 0) FROM `order_items` oi WHERE oi.`order_id` = o.`id`) AS `total_tax`,
+                o.`street`, o.`city`, o.`zipcode`, o.`country`
+            FROM `orders` o
+            JOIN `users` u ON u.`id` = o.`user_id`""";
+
+    private static final String PAYMENTS_SQL = """
+            SELECT p.`id`, o.`order_code`, p.`created_at`, p.`status`, p.`method`, p.`amount`, p.`card_brand`, p.`card_last_four_digits`, p.`transaction_id`
+            FROM `payments` p
+            JOIN `orders` o ON o.`id` = p.`order_id`""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ExportRepository(DataSource dataSource, @Value("${spring.datasource.url}") String url) {
+
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+
+        // Connector/J only streams a result set row by row when the fetch size is Integer.MIN_VALUE;
+        // any other value makes it buffer the whole result in memory first. Other drivers reject it.
+        streaming.setFetchSize(DatabaseDriver.fromJdbcUrl(url) == DatabaseDriver.MYSQL ? Integer.MIN_VALUE : FETCH_SIZE);
+
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+    }
+
+    public void streamOrders(OrderFilters filters, RowCallbackHandler handler) {
+
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        List<String> conditions = new ArrayList<>();
+
+        if (filters.getStatus() != null) {
+            conditions.add("o.`status` = :status");
+            params.addValue("status", filters.getStatus().name());
+        }
+
+        addDateRange(conditions, params, "o", filters.getDateFrom(), filters.getDateTo());
+
+        jdbcTemplate.query(ORDERS_SQL + where(conditions) + " ORDER BY o.`created_at`, o.`id`", params, handler);
+    }
+
+    public void streamPayments(PaymentFilters filters, RowCallbackHandler handler) {
+
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        List<String> conditions = new ArrayList<>();
+
+        if (filters.getStatus() != null) {
+            conditions.add("p.`status` = :status");
+            params.addValue("status", filters.getStatus().name());
+        }
+
+        addDateRange(conditions, params, "p", filters.getDateFrom(), filters.getDateTo());
+
+        jdbcTemplate.query(PAYMENTS_SQL + where(conditions) + " ORDER BY p.`created_at`, p.`id`", params, handler);
+    }
+
+    private static void addDateRange(List<String> conditions, MapSqlParameterSource params, String alias, LocalDate from, LocalDate to) {
+
+        if (from != null) {
+            conditions.add(alias + ".`created_at` >= :dateFrom");
+            params.addValue("dateFrom", from.atStartOfDay());
+        }
+
+        if (to != null) {
+            conditions.add(alias + ".`created_at` < :dateTo");
+            params.addValue("dateTo", to.plusDays(1).atStartOfDay());
+        }
+    }
+
+    private static String where(List<String> conditions) {
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+}
@@ -2,6 +2,10 @@ package gr.aueb.cf.webstore.repository;
 
 import gr.aueb.cf.webstore.core.enums.OrderStatus;
 import gr.aueb.cf.webstore.model.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import java.math.BigDecimal;
@@ -17,4 +21,15 @@ public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecific
     List<Order> findByTotalPriceBetween(BigDecimal min, BigDecimal max);
 
     Optional<Order> findByOrderCode(String code);
+
+    @EntityGraph(attributePaths = {"user", "orderItems", "orderItems.product"})
+    Optional<Order> findWithDetailsById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Page<Order> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Page<Order> findAll(Specification<Order> spec, Pageable pageable);
 }
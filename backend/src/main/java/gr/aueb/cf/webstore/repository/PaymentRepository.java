@@ -3,6 +3,7 @@ package gr.aueb.cf.webstore.repository;
 import gr.aueb.cf.webstore.model.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,6 +11,8 @@ public interface PaymentRepository extends JpaRepository<Payment, Long>, JpaSpec
 
     List<Payment> findByOrderId(Long orderId);
 
+    List<Payment> findByOrderIdIn(Collection<Long> orderIds);
+
     Optional<Payment> findByTransactionId(String transactionId);
 
     Optional<Payment> findByPaymentToken(String paymentToken);
@@ -0,0 +1,92 @@
+package gr.aueb.cf.webstore.repository;
+
+import gr.aueb.cf.webstore.dto.ProductImportRowDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Repository
+public class ProductBulkRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO `products` (`sku`, `name`, `description`, `price`, `stock`, `is_active`, `brand`, `category_id`, `created_at`, `updated_at`)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    // MySQL 8.0.20+ deprecates VALUES(col) in favour of a row alias.
+    private static final String UPSERT_SQL = INSERT_SQL + """
+
+            AS `new` ON DUPLICATE KEY UPDATE `name` = `new`.`name`, `description` = `new`.`description`, `price` = `new`.`price`,
+                `stock` = `new`.`stock`, `is_active` = `new`.`is_active`, `brand` = `new`.`brand`,
+                `category_id` = `new`.`category_id`, `updated_at` = `new`.`updated_at`""";
+
+    // Other databases speaking the MySQL dialect (H2 in MySQL mode for tests) only know the VALUES(col) form.
+    private static final String LEGACY_UPSERT_SQL = INSERT_SQL + """
+
+            ON DUPLICATE KEY UPDATE `name` = VALUES(`name`), `description` = VALUES(`description`), `price` = VALUES(`price`),
+                `stock` = VALUES(`stock`), `is_active` = VALUES(`is_active`), `brand` = VALUES(`brand`),
+                `category_id` = VALUES(`category_id`), `updated_at` = VALUES(`updated_at`)""";
+
+    private static final String IDS_BY_SKU_SQL = "SELECT `id`, `sku` FROM `products` WHERE `sku` IN (:skus)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final String upsertSql;
+
+    @Autowired
+    public ProductBulkRepository(NamedParameterJdbcTemplate jdbcTemplate, @Value("${spring.datasource.url}") String url) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.upsertSql = DatabaseDriver.fromJdbcUrl(url) == DatabaseDriver.MYSQL ? UPSERT_SQL : LEGACY_UPSERT_SQL;
+    }
+
+    /**
+     * Returns ids keyed by lower-cased SKU: the sku column compares case-insensitively, so a row may
+     * come back spelled differently from the SKU that was asked for.
+     */
+    public Map<String, Long> findIdsBySku(Collection<String> skus) {
+
+        Map<String, Long> ids = new HashMap<>();
+
+        if (skus.isEmpty()) return ids;
+
+        jdbcTemplate.query(IDS_BY_SKU_SQL, Map.of("skus", skus), rs -> {
+            ids.put(rs.getString("sku").toLowerCase(Locale.ROOT), rs.getLong("id"));
+        });
+
+        return ids;
+    }
+
+    /**
+     * Inserts new SKUs and overwrites the imported columns of existing ones in a single JDBC batch.
+     * The image and created_at of existing products are left untouched.
+     */
+    public void upsert(List<ProductImportRowDTO> rows, Map<String, Long> categoryIds) {
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.getJdbcOperations().batchUpdate(upsertSql, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.sku());
+            ps.setString(2, row.name());
+            ps.setString(3, row.description());
+            ps.setBigDecimal(4, row.price());
+            ps.setInt(5, row.stock());
+            ps.setBoolean(6, !Boolean.FALSE.equals(row.isActive()));
+
+            if (row.brand() == null) ps.setNull(7, Types.VARCHAR);
+            else ps.setString(7, row.brand());
+
+            ps.setLong(8, categoryIds.get(row.category().toLowerCase(Locale.ROOT)));
+            ps.setTimestamp(9, now);
+            ps.setTimestamp(10, now);
+        });
+    }
+}
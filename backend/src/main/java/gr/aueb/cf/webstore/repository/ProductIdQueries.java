@@ -0,0 +1,14 @@
+package gr.aueb.cf.webstore.repository;
+
+import gr.aueb.cf.webstore.model.Product;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface ProductIdQueries {
+
+    /**
+     * Ids of the products matching the specification, without loading the entities.
+     */
+    List<Long> findIds(Specification<Product> spec);
+}
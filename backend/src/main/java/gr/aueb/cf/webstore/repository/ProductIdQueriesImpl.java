@@ -0,0 +1,32 @@
+package gr.aueb.cf.webstore.repository;
+
+import gr.aueb.cf.webstore.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+class ProductIdQueriesImpl implements ProductIdQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findIds(Specification<Product> spec) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> root = query.from(Product.class);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        query.select(root.get("id"));
+        if (predicate != null) query.where(predicate);
+
+        return entityManager.createQuery(query).getResultList();
+    }
+}
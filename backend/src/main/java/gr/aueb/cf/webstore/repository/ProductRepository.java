@@ -1,14 +1,51 @@
 package gr.aueb.cf.webstore.repository;
 
 import gr.aueb.cf.webstore.model.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>, ProductIdQueries {
 
 
     List<Product> findByCategoryId(Long categoryId);
     Optional<Product> findBySku(String sku);
+
+    List<Product> findAllByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"category", "productSpecs"})
+    Optional<Product> findWithDetailsById(Long id);
+
+    @EntityGraph(attributePaths = {"category", "productSpecs"})
+    @Query("SELECT p FROM Product p")
+    List<Product> findAllWithDetails();
+
+    @EntityGraph(attributePaths = {"category", "productSpecs"})
+    List<Product> findAllWithDetailsByIdIn(Collection<Long> ids);
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Page<Product> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Page<Product> findAll(Specification<Product> spec, Pageable pageable);
+
+    /**
+     * Leaves the persistence context alone, so products already loaded by the caller stay managed with their
+     * pre-update stock; they must not be flushed with that stale value.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.stock = p.stock - :quantity WHERE p.id = :id AND p.stock >= :quantity")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity);
 }
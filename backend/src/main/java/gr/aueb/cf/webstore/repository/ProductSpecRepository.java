@@ -3,11 +3,14 @@ package gr.aueb.cf.webstore.repository;
 import gr.aueb.cf.webstore.model.ProductSpec;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import java.util.Collection;
 import java.util.List;
 
 public interface ProductSpecRepository extends JpaRepository<ProductSpec, Long>, JpaSpecificationExecutor<ProductSpec> {
 
     List<ProductSpec> findByProductId(Long productId);
 
+    List<ProductSpec> findByProductIdIn(Collection<Long> productIds);
+
     List<ProductSpec> findByName(String name);
 }
@@ -1,6 +1,9 @@
 package gr.aueb.cf.webstore.security;
 
+import gr.aueb.cf.webstore.authentication.CustomUserDetailsService;
 import gr.aueb.cf.webstore.authentication.JwtService;
+import gr.aueb.cf.webstore.authentication.UserPrincipal;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
@@ -8,16 +11,18 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
+import java.util.List;
 import org.springframework.security.access.AccessDeniedException;
 
 @Component
@@ -25,7 +30,10 @@ import org.springframework.security.access.AccessDeniedException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final CustomUserDetailsService userDetailsService;
+
+    @Value("${app.security.stateless-principal:false}")
+    private boolean statelessPrincipal;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
@@ -43,25 +51,42 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7).trim();
 
         try {
-            email = jwtService.extractSubject(jwt);
+            Claims claims = jwtService.parseClaims(jwt);
+            email = claims.getSubject();
 
             if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+                // A cache hit in both modes; only a miss reads the users row.
+                UserPrincipal principal = userDetailsService.loadUserByUsername(email);
 
-                if (!jwtService.isTokenValid(jwt, userDetails)) {
+                if (principal.tokenVersion() != tokenVersion(claims) || !jwtService.isTokenValid(claims, principal)) {
                     throw new BadCredentialsException("Invalid Token");
                 }
 
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities()
-                );
+                UsernamePasswordAuthenticationToken authToken;
+
+                if (statelessPrincipal) {
+
+                    String role = claims.get("role", String.class);
+
+                    if (role == null) {
+                        throw new BadCredentialsException("Invalid Token");
+                    }
+
+                    authToken = new UsernamePasswordAuthenticationToken(
+                            email, null, List.of(new SimpleGrantedAuthority("ROLE_" + role))
+                    );
+                } else {
+                    authToken = new UsernamePasswordAuthenticationToken(
+                            principal, null, principal.getAuthorities()
+                    );
+                }
 
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         } catch (ExpiredJwtException e) {
             throw new AuthenticationCredentialsNotFoundException("Expired token", e);
-        } catch (JwtException | IllegalArgumentException e) {
+        } catch (JwtException | IllegalArgumentException | UsernameNotFoundException e) {
             throw new BadCredentialsException("Invalid token");
         } catch (Exception e) {
             throw new AccessDeniedException("Token validation failed", e);
@@ -69,4 +94,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Tokens issued before the "ver" claim existed count as version 0, where every user starts, so deploying the
+     * claim logs nobody out: they stay valid until they expire or the user's version is bumped.
+     */
+    private static int tokenVersion(Claims claims) {
+        Integer version = claims.get("ver", Integer.class);
+        return version == null ? 0 : version;
+    }
 }
@@ -1,6 +1,8 @@
 package gr.aueb.cf.webstore.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -61,6 +63,7 @@ public class SecurityConfiguration {
 
                         .requestMatchers(HttpMethod.GET, "/api/products/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/products/search").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/products/facets").permitAll()
 
                         .requestMatchers(HttpMethod.GET, "/api/categories/**").permitAll()
 
@@ -71,15 +74,20 @@ public class SecurityConfiguration {
                         .requestMatchers(HttpMethod.POST, "/api/orders").authenticated()
                         .requestMatchers(HttpMethod.GET,  "/api/orders").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/api/orders/search").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/orders/export").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET,  "/api/orders/**").authenticated()
                         .requestMatchers(HttpMethod.PUT,  "/api/orders/**").hasRole("ADMIN")
 
                         .requestMatchers(HttpMethod.GET, "/api/payments/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/payments/export").hasRole("ADMIN")
 
                         .requestMatchers(HttpMethod.POST, "/api/categories/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT,  "/api/categories/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/categories/**").hasRole("ADMIN")
 
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         .requestMatchers("/**").authenticated()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(STATELESS))
@@ -120,8 +128,10 @@ public class SecurityConfiguration {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${app.security.password-hashing.threads:2}") int threads,
+                                           @Value("${app.security.password-hashing.queue-capacity:32}") int queueCapacity) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(12), threads, queueCapacity, meterRegistry);
     }
 
     @Bean
@@ -1,9 +1,13 @@
 package gr.aueb.cf.webstore.service;
 
+import gr.aueb.cf.webstore.core.cache.ProductCache;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectAlreadyExists;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectNotFoundException;
 import gr.aueb.cf.webstore.core.filters.CategoryFilters;
 import gr.aueb.cf.webstore.core.filters.Paginated;
+import gr.aueb.cf.webstore.core.search.ProductFacetIndex;
+import gr.aueb.cf.webstore.core.search.ProductIndexBroadcast;
+import gr.aueb.cf.webstore.core.specifications.CategorySpecification;
 import gr.aueb.cf.webstore.dto.CategoryInsertDTO;
 import gr.aueb.cf.webstore.dto.CategoryReadOnlyDTO;
 import gr.aueb.cf.webstore.dto.CategoryUpdateDTO;
@@ -17,6 +21,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -25,11 +30,18 @@ public class CategoryService implements ICategoryService {
 
     private final CategoryRepository categoryRepository;
     private final Mapper mapper;
+    private final ProductCache productCache;
+    private final ProductFacetIndex productFacetIndex;
+    private final ProductIndexBroadcast productIndexBroadcast;
 
     @Autowired
-    public CategoryService(CategoryRepository categoryRepository, Mapper mapper) {
+    public CategoryService(CategoryRepository categoryRepository, Mapper mapper, ProductCache productCache, ProductFacetIndex productFacetIndex,
+                           ProductIndexBroadcast productIndexBroadcast) {
         this.categoryRepository = categoryRepository;
         this.mapper = mapper;
+        this.productCache = productCache;
+        this.productFacetIndex = productFacetIndex;
+        this.productIndexBroadcast = productIndexBroadcast;
     }
 
     @Override
@@ -64,12 +76,17 @@ public class CategoryService implements ICategoryService {
                     "Category", "Category with name " + categoryUpdateDTO.name() + " already exists");
         }
 
+        String previousName = existingCategory.getName();
+
         if (categoryUpdateDTO.name() != null) existingCategory.setName(categoryUpdateDTO.name());
 
         if (categoryUpdateDTO.isActive() != null) existingCategory.setIsActive(categoryUpdateDTO.isActive());
 
 
         Category updatedCategory = categoryRepository.save(existingCategory);
+        productFacetIndex.renameCategory(previousName, updatedCategory.getName());
+        if (!previousName.equals(updatedCategory.getName())) productIndexBroadcast.publish(productFacetIndex.productIdsInCategory(previousName));
+        productCache.evictAll();
 
         log.info("Category with id={} updated successfully.", updatedCategory.getId());
 
@@ -101,12 +118,16 @@ public class CategoryService implements ICategoryService {
     @Override
     public Paginated<CategoryReadOnlyDTO> getCategoriesFilteredPaginated(CategoryFilters categoryFilters) {
 
-        var page = categoryRepository.findAll(categoryFilters.getPageable());
+        var page = categoryRepository.findAll(getSpecsFromFilters(categoryFilters), categoryFilters.getPageable());
 
         log.debug("Filtered and paginated categories returned successfully with page={} and size={}",
                 categoryFilters.getPage(), categoryFilters.getPageSize());
 
         return Paginated.fromPage(page.map(mapper::mapToCategoryReadOnlyDTO));
     }
-}
 
+    private Specification<Category> getSpecsFromFilters(CategoryFilters filters) {
+        return CategorySpecification.categoryIdIs(filters.getCategoryId())
+                .and(CategorySpecification.nameStartsWith(filters.getName()));
+    }
+}
@@ -0,0 +1,46 @@
+package gr.aueb.cf.webstore.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private final IEmailOutboxService emailOutboxService;
+
+    @Value("${app.email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Autowired
+    public EmailOutboxDispatcher(IEmailOutboxService emailOutboxService) {
+        this.emailOutboxService = emailOutboxService;
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-interval:1000}")
+    public void dispatch() {
+
+        try {
+            int dispatched;
+            do {
+                dispatched = emailOutboxService.dispatchDue(batchSize);
+            } while (dispatched == batchSize);
+        } catch (Exception e) {
+            log.error("Email outbox dispatch failed", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.purge-interval:PT1H}")
+    public void purge() {
+
+        try {
+            int purged = emailOutboxService.purge();
+            if (purged > 0) log.info("Purged {} sent or dead emails from the outbox", purged);
+        } catch (Exception e) {
+            log.error("Email outbox purge failed", e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package gr.aueb.cf.webstore.service;
+
+import gr.aueb.cf.webstore.core.enums.OutboxStatus;
+import gr.aueb.cf.webstore.model.EmailOutbox;
+import gr.aueb.cf.webstore.repository.EmailOutboxRepository;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * The two short transactions around an outbox send. {@link #claim} leases due rows by moving them to SENDING
+ * with {@code nextAttemptAt} as the lease expiry, so the SMTP round trips happen with no transaction or row lock
+ * held; a row whose sender died becomes due again once its lease runs out. {@link #release} writes one row's
+ * outcome, but only while the caller still holds that lease. A SENT row keeps no payload, so the codes and links
+ * it carried do not outlive their delivery; DEAD rows keep theirs for inspection until their shorter retention.
+ */
+@Component
+@Slf4j
+public class EmailOutboxLeases {
+
+    private static final List<OutboxStatus> CLAIMABLE = List.of(OutboxStatus.PENDING, OutboxStatus.SENDING);
+    private static final String CLEARED_PAYLOAD = "{}";
+
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    public EmailOutboxLeases(EmailOutboxRepository emailOutboxRepository) {
+        this.emailOutboxRepository = emailOutboxRepository;
+    }
+
+    @Transactional
+    public List<EmailOutbox> claim(int batchSize, Duration lease) {
+
+        LocalDateTime now = LocalDateTime.now();
+        // Truncated to the column precision so release can compare it with the stored value.
+        LocalDateTime leaseUntil = now.plus(lease).truncatedTo(ChronoUnit.MICROS);
+
+        List<EmailOutbox> due = emailOutboxRepository.findDueForUpdate(CLAIMABLE, now, PageRequest.of(0, batchSize));
+
+        for (EmailOutbox email : due) {
+            email.setStatus(OutboxStatus.SENDING);
+            email.setNextAttemptAt(leaseUntil);
+        }
+
+        return due;
+    }
+
+    @Transactional
+    public boolean release(EmailOutbox outcome, LocalDateTime leaseUntil) {
+
+        EmailOutbox email = emailOutboxRepository.findById(outcome.getId()).orElse(null);
+
+        if (email == null || email.getStatus() != OutboxStatus.SENDING || !leaseUntil.equals(email.getNextAttemptAt())) {
+            log.warn("Email id={} lease expired before its outcome was recorded; status={} is left to the next claim", outcome.getId(), outcome.getStatus());
+            return false;
+        }
+
+        email.setStatus(outcome.getStatus());
+        email.setAttempts(outcome.getAttempts());
+        email.setNextAttemptAt(outcome.getNextAttemptAt());
+        email.setLastError(outcome.getLastError());
+        if (outcome.getStatus() == OutboxStatus.SENT) email.setPayload(CLEARED_PAYLOAD);
+
+        return true;
+    }
+
+    @Transactional
+    public int purge(LocalDateTime sentBefore, LocalDateTime deadBefore) {
+        return emailOutboxRepository.deleteByStatusUpdatedBefore(OutboxStatus.SENT, sentBefore)
+                + emailOutboxRepository.deleteByStatusUpdatedBefore(OutboxStatus.DEAD, deadBefore);
+    }
+}
@@ -0,0 +1,190 @@
+package gr.aueb.cf.webstore.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.aueb.cf.webstore.core.enums.EmailType;
+import gr.aueb.cf.webstore.core.enums.OutboxStatus;
+import gr.aueb.cf.webstore.model.EmailOutbox;
+import gr.aueb.cf.webstore.model.Order;
+import gr.aueb.cf.webstore.repository.EmailOutboxRepository;
+import gr.aueb.cf.webstore.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Slf4j
+public class EmailOutboxService implements IEmailOutboxService {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailOutboxLeases emailOutboxLeases;
+    private final OrderRepository orderRepository;
+    private final IEmailService emailService;
+    private final ObjectMapper objectMapper;
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter dead;
+
+    @Value("${app.email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.email.outbox.initial-backoff:PT30S}")
+    private Duration initialBackoff;
+
+    @Value("${app.email.outbox.max-backoff:PT1H}")
+    private Duration maxBackoff;
+
+    @Value("${app.email.outbox.lease:PT5M}")
+    private Duration lease;
+
+    @Value("${app.email.outbox.sent-retention:P7D}")
+    private Duration sentRetention;
+
+    @Value("${app.email.outbox.dead-retention:P1D}")
+    private Duration deadRetention;
+
+    @Autowired
+    public EmailOutboxService(EmailOutboxRepository emailOutboxRepository, EmailOutboxLeases emailOutboxLeases, OrderRepository orderRepository,
+                              IEmailService emailService, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailOutboxLeases = emailOutboxLeases;
+        this.orderRepository = orderRepository;
+        this.emailService = emailService;
+        this.objectMapper = objectMapper;
+        this.sent = Counter.builder("email.outbox").tag("result", "sent").register(meterRegistry);
+        this.retried = Counter.builder("email.outbox").tag("result", "retry").register(meterRegistry);
+        this.dead = Counter.builder("email.outbox").tag("result", "dead").register(meterRegistry);
+    }
+
+    @Override
+    public void enqueueTwoFactorCode(String to, String code) {
+        enqueue(EmailType.TWO_FACTOR_CODE, to, Map.of("code", code));
+    }
+
+    @Override
+    public void enqueueEmailVerification(String to, String verificationLink, String token) {
+        enqueue(EmailType.EMAIL_VERIFICATION, to, Map.of("link", verificationLink, "token", token));
+    }
+
+    @Override
+    public void enqueueOrderConfirmation(Order order) {
+
+        if (order == null || order.getUser() == null) {
+            log.warn("Skipping order confirmation email: order or user is null");
+            return;
+        }
+
+        enqueue(EmailType.ORDER_CONFIRMATION, order.getUser().getEmail(), Map.of("orderId", order.getId().toString()));
+    }
+
+    @Override
+    public void enqueuePasswordResetEmail(String to, String resetLink) {
+        enqueue(EmailType.PASSWORD_RESET, to, Map.of("link", resetLink));
+    }
+
+    /**
+     * Claims a batch in one short transaction, sends each email with no transaction open and records every
+     * outcome in its own short transaction. The lease must outlast sending a whole batch.
+     */
+    @Override
+    public int dispatchDue(int batchSize) {
+
+        List<EmailOutbox> claimed = emailOutboxLeases.claim(batchSize, lease);
+
+        for (EmailOutbox email : claimed) {
+
+            LocalDateTime leaseUntil = email.getNextAttemptAt();
+
+            try {
+                deliver(email);
+                email.setStatus(OutboxStatus.SENT);
+                email.setLastError(null);
+                sent.increment();
+            } catch (Exception e) {
+                markFailed(email, e);
+            }
+
+            emailOutboxLeases.release(email, leaseUntil);
+        }
+
+        return claimed.size();
+    }
+
+    @Override
+    public int purge() {
+        LocalDateTime now = LocalDateTime.now();
+        return emailOutboxLeases.purge(now.minus(sentRetention), now.minus(deadRetention));
+    }
+
+    private void enqueue(EmailType type, String to, Map<String, String> payload) {
+
+        try {
+            EmailOutbox email = EmailOutbox.builder()
+                    .type(type)
+                    .recipient(to)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .status(OutboxStatus.PENDING)
+                    .attempts(0)
+                    .nextAttemptAt(LocalDateTime.now())
+                    .build();
+
+            emailOutboxRepository.save(email);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + type + " email payload", e);
+        }
+    }
+
+    private void deliver(EmailOutbox email) throws JsonProcessingException {
+
+        Map<String, String> payload = objectMapper.readValue(email.getPayload(), new TypeReference<>() {});
+
+        switch (email.getType()) {
+            case TWO_FACTOR_CODE -> emailService.sendTwoFactorCode(email.getRecipient(), payload.get("code"));
+            case EMAIL_VERIFICATION -> emailService.sendEmailVerification(email.getRecipient(), payload.get("link"), payload.get("token"));
+            case PASSWORD_RESET -> emailService.sendPasswordResetEmail(email.getRecipient(), payload.get("link"));
+            case ORDER_CONFIRMATION -> {
+                Long orderId = Long.valueOf(payload.get("orderId"));
+                Order order = orderRepository.findWithDetailsById(orderId)
+                        .orElseThrow(() -> new IllegalStateException("Order with id " + orderId + " not found"));
+                emailService.sendOrderConfirmation(order);
+            }
+        }
+    }
+
+    private void markFailed(EmailOutbox email, Exception e) {
+
+        int attempts = email.getAttempts() + 1;
+
+        email.setAttempts(attempts);
+        email.setLastError(truncate(e.getClass().getSimpleName() + ": " + e.getMessage()));
+
+        if (attempts >= maxAttempts) {
+            email.setStatus(OutboxStatus.DEAD);
+            dead.increment();
+            log.error("Email id={} type={} dead-lettered after {} attempts", email.getId(), email.getType(), attempts, e);
+            return;
+        }
+
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (backoff.compareTo(maxBackoff) > 0) backoff = maxBackoff;
+
+        email.setStatus(OutboxStatus.PENDING);
+        email.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+        retried.increment();
+        log.warn("Email id={} type={} failed (attempt {}), retrying in {}", email.getId(), email.getType(), attempts, backoff, e);
+    }
+
+    private static String truncate(String message) {
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
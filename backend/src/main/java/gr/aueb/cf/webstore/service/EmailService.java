@@ -1,79 +1,53 @@
 package gr.aueb.cf.webstore.service;
+import gr.aueb.cf.webstore.core.email.EmailTemplate;
+import gr.aueb.cf.webstore.core.email.EmailTemplates;
+import gr.aueb.cf.webstore.model.Address;
 import gr.aueb.cf.webstore.model.Order;
+import gr.aueb.cf.webstore.model.OrderItem;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.MailPreparationException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
+import java.math.BigDecimal;
 import java.text.NumberFormat;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 @Service
 @Slf4j
 public class EmailService implements IEmailService {
 
     private static final String FROM_ADDRESS = "cf.webstore.noreply@gmail.com";
+    private static final ThreadLocal<NumberFormat> EURO_FORMAT = ThreadLocal.withInitial(() -> NumberFormat.getCurrencyInstance(Locale.GERMANY));
+    private static final ThreadLocal<RenderBuffers> BUFFERS = ThreadLocal.withInitial(RenderBuffers::new);
+    private static final int MAX_RETAINED_CHARS = 64 * 1024;
 
     private final JavaMailSender mailSender;
+    private final SmtpConnectionPool smtpConnectionPool;
+    private final EmailTemplates templates;
 
-    public EmailService(JavaMailSender mailSender) {
+    public EmailService(JavaMailSender mailSender, SmtpConnectionPool smtpConnectionPool, EmailTemplates templates) {
         this.mailSender = mailSender;
+        this.smtpConnectionPool = smtpConnectionPool;
+        this.templates = templates;
     }
 
     @Override
     public void sendTwoFactorCode(String to, String code) {
 
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(FROM_ADDRESS);
-        message.setTo(to);
-        message.setSubject("Your two-factor authentication code");
-        message.setText("""
-                Your verification code is: %s
-                
-                This code expires in 5 minutes.
-                
-                If you did not request this, you can ignore this email.
-                """.formatted(code)
-
-        );
-        mailSender.send(message);
+        send(to, "Your two-factor authentication code", "two-factor-code", Map.of("code", code));
         log.info("2FA email sent to {}", to);
     }
 
     @Override
     public void sendEmailVerification(String to, String verificationLink, String token) {
-        try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "UTF-8");
 
-            helper.setFrom(FROM_ADDRESS);
-            helper.setTo(to);
-            helper.setSubject("Verify your email");
-
-            String html = """
-            <div>
-            <p>Hi,</p>
-            <p>Thanks for creating an account at <strong>Arctic Builds</strong>.</p>
-            <p>Click the button below to verify your email address:</p>
-            <a href="%s"
-               style="display:inline-block;padding:10px 16px;
-                      background:#111827;color:#ffffff;text-decoration:none;
-                      border-radius:6px;font-weight:600;">
-              Verify email
-            </a>
-            <p>This verification link expires in 30 minutes. If you did not register for an account,
-               you can safely ignore this email. </p>
-            </div>
-            """.formatted(verificationLink);
-
-            helper.setText(html, true);
-            mailSender.send(mimeMessage);
-            log.info("Email verification email sent to {}", to);
-        } catch (MessagingException e) {
-            log.error("Failed to send verification email to {}", to, e);
-        }
+        send(to, "Verify your email", "email-verification", Map.of("link", verificationLink));
+        log.info("Email verification email sent to {}", to);
     }
 
     @Override
@@ -84,35 +58,50 @@ public class EmailService implements IEmailService {
             return;
         }
 
-        NumberFormat euroFormat = NumberFormat.getCurrencyInstance(Locale.GERMANY);
-        String formattedTotal = euroFormat.format(order.getTotalPrice());
-
+        NumberFormat euroFormat = EURO_FORMAT.get();
+        RenderBuffers buffers = BUFFERS.get().reset();
         String to = order.getUser().getEmail();
 
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(FROM_ADDRESS);
-        message.setTo(to);
-        message.setSubject("Order confirmation - " + order.getOrderCode());
+        EmailTemplate textItem = templates.text("order-confirmation-item");
+        EmailTemplate htmlItem = templates.html("order-confirmation-item");
+        StringBuilder textItems = buffers.textItems;
+        StringBuilder htmlItems = buffers.htmlItems;
+        Map<String, String> item = buffers.item;
+
+        for (OrderItem orderItem : order.getOrderItems()) {
+            item.put("name", orderItem.getProduct().getName());
+            item.put("quantity", Integer.toString(orderItem.getQuantity()));
+            item.put("price", euroFormat.format(orderItem.getPrice()));
+            item.put("subtotal", euroFormat.format(orderItem.getPrice().multiply(BigDecimal.valueOf(orderItem.getQuantity()))));
+            textItem.renderTo(textItems, item);
+            htmlItem.renderTo(htmlItems, item);
+        }
 
-        StringBuilder body = new StringBuilder();
+        Map<String, String> text = buffers.text;
+        text.put("orderCode", order.getOrderCode());
+        text.put("total", euroFormat.format(order.getTotalPrice()));
+        text.put("status", String.valueOf(order.getStatus()));
 
-        body.append("Thank you for your order!\n\n")
-                .append("Order code: ").append(order.getOrderCode()).append("\n")
-                .append("Total amount: ").append(formattedTotal).append("\n")
-                .append("Status: ").append(order.getStatus()).append("\n\n");
+        Map<String, String> html = buffers.html;
+        html.putAll(text);
 
-        if (order.getShippingAddress() != null) {
-            body.append("Shipping address:\n")
-                    .append(order.getShippingAddress().getStreet()).append("\n")
-                    .append(order.getShippingAddress().getCity()).append(" ")
-                    .append(order.getShippingAddress().getZipcode()).append("\n")
-                    .append(order.getShippingAddress().getCountry()).append("\n\n\n");
-        }
+        text.put("items", textItems.toString());
+        html.put("items", htmlItems.toString());
+
+        Address address = order.getShippingAddress();
 
-        body.append("You can view your order details using this code in your account.\n");
+        if (address != null) {
+            Map<String, String> shipping = buffers.shipping;
+            shipping.put("street", address.getStreet());
+            shipping.put("city", address.getCity());
+            shipping.put("zipcode", address.getZipcode());
+            shipping.put("country", address.getCountry());
+            text.put("shipping", templates.text("order-confirmation-shipping").render(shipping));
+            html.put("shipping", templates.html("order-confirmation-shipping").render(shipping));
+        }
 
-        message.setText(body.toString());
-        mailSender.send(message);
+        send(to, "Order confirmation - " + order.getOrderCode(),
+                templates.text("order-confirmation").render(text), templates.html("order-confirmation").render(html));
 
         log.info("Order confirmation email sent for order id={}, code={}, to={}", order.getId(), order.getOrderCode(), to);
     }
@@ -120,23 +109,52 @@ public class EmailService implements IEmailService {
     @Override
     public void sendPasswordResetEmail(String to, String resetLink) {
 
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(FROM_ADDRESS);
-        message.setTo(to);
-        message.setSubject("Reset your password");
-        message.setText("""
-            You requested a password reset.
+        send(to, "Reset your password", "password-reset", Map.of("link", resetLink));
+        log.info("Password reset email sent to={}", to);
+    }
 
-            Click the link below to set a new password:
-            %s
+    private void send(String to, String subject, String template, Map<String, String> values) {
+        send(to, subject, templates.text(template).render(values), templates.html(template).render(values));
+    }
 
-            This link expires in 10 minutes.
+    /**
+     * Per-thread scratch space for rendering an order confirmation. The outbox sends from a few long-lived
+     * scheduler threads, so these are reused across emails; a buffer grown by an unusually large order is dropped.
+     */
+    private static final class RenderBuffers {
+
+        private StringBuilder textItems = new StringBuilder(1024);
+        private StringBuilder htmlItems = new StringBuilder(4096);
+        private final Map<String, String> item = new HashMap<>();
+        private final Map<String, String> text = new HashMap<>();
+        private final Map<String, String> html = new HashMap<>();
+        private final Map<String, String> shipping = new HashMap<>();
+
+        private RenderBuffers reset() {
+            textItems = textItems.capacity() > MAX_RETAINED_CHARS ? new StringBuilder(1024) : textItems.delete(0, textItems.length());
+            htmlItems = htmlItems.capacity() > MAX_RETAINED_CHARS ? new StringBuilder(4096) : htmlItems.delete(0, htmlItems.length());
+            item.clear();
+            text.clear();
+            html.clear();
+            shipping.clear();
+            return this;
+        }
+    }
 
-            If you did not request this, you can safely ignore this email.
-            """.formatted(resetLink)
-        );
+    private void send(String to, String subject, String plainText, String html) {
 
-        mailSender.send(message);
-        log.info("Password reset email sent to={}", to);
+        try {
+            MimeMessage mimeMessage = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+
+            helper.setFrom(FROM_ADDRESS);
+            helper.setTo(to);
+            helper.setSubject(subject);
+            helper.setText(plainText, html);
+
+            smtpConnectionPool.send(mimeMessage);
+        } catch (MessagingException e) {
+            throw new MailPreparationException("Failed to build email to " + to, e);
+        }
     }
 }
@@ -1,5 +1,8 @@
 package gr.aueb.cf.webstore.service;
 
+import gr.aueb.cf.webstore.authentication.AuthTokenStore;
+import gr.aueb.cf.webstore.authentication.UserDetailsCache;
+import gr.aueb.cf.webstore.core.enums.AuthTokenType;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectInvalidArgumentException;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectNotFoundException;
 import gr.aueb.cf.webstore.model.User;
@@ -8,24 +11,22 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailVerificationService implements IEmailVerificationService {
 
-    private static final String KEY_PREFIX = "email-verification:";
-    private static final long EXPIRATION_MINUTES = 30L;
+    private static final Duration EXPIRATION = Duration.ofMinutes(30);
 
-    private final StringRedisTemplate redisTemplate;
+    private final AuthTokenStore tokenStore;
     private final UserRepository userRepository;
-    private final IEmailService emailService;
+    private final IEmailOutboxService emailOutboxService;
+    private final UserDetailsCache userDetailsCache;
 
     @Value("${app.frontend.base-url:http://localhost:5173}")
     private String frontendBaseUrl;
@@ -33,16 +34,13 @@ public class EmailVerificationService implements IEmailVerificationService {
     @Override
     public void createAndSendToken(User user) {
 
-        String token = UUID.randomUUID().toString();
-        String key = KEY_PREFIX + token;
+        String token = tokenStore.newToken();
 
-        redisTemplate
-                .opsForValue()
-                .set(key, user.getEmail(), Duration.ofMinutes(EXPIRATION_MINUTES));
+        tokenStore.put(AuthTokenType.EMAIL_VERIFICATION, token, user.getEmail(), EXPIRATION);
 
         String verificationLink = frontendBaseUrl + "/verify-email?token=" + token;
 
-        emailService.sendEmailVerification(user.getEmail(), verificationLink, token);
+        emailOutboxService.enqueueEmailVerification(user.getEmail(), verificationLink, token);
 
         log.info("Sent email verification token for user {} with token {}", user.getEmail(), token);
     }
@@ -51,8 +49,7 @@ public class EmailVerificationService implements IEmailVerificationService {
     @Transactional
     public void verify(String token) throws AppObjectInvalidArgumentException, AppObjectNotFoundException {
 
-        String key = KEY_PREFIX + token;
-        String email = redisTemplate.opsForValue().get(key);
+        String email = tokenStore.get(AuthTokenType.EMAIL_VERIFICATION, token);
 
         if (email == null) {
             throw new AppObjectInvalidArgumentException("EmailVerification", "Invalid or expired email verification token");
@@ -66,7 +63,8 @@ public class EmailVerificationService implements IEmailVerificationService {
         user.setIsActive(true);
 
         userRepository.save(user);
-        redisTemplate.delete(key);
+        tokenStore.delete(AuthTokenType.EMAIL_VERIFICATION, token);
+        userDetailsCache.evict(email);
 
         log.info("Email verified for user {}", email);
     }
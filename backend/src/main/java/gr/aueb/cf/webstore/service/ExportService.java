@@ -0,0 +1,91 @@
+package gr.aueb.cf.webstore.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.aueb.cf.webstore.core.enums.FileFormat;
+import gr.aueb.cf.webstore.core.exports.ExportWriter;
+import gr.aueb.cf.webstore.core.filters.OrderFilters;
+import gr.aueb.cf.webstore.core.filters.PaymentFilters;
+import gr.aueb.cf.webstore.repository.ExportRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Slf4j
+public class ExportService implements IExportService {
+
+    private static final List<String> ORDER_COLUMNS = List.of(
+            "id", "orderCode", "createdAt", "status", "userUuid", "userEmail", "totalPrice", "totalTax", "street", "city", "zipcode", "country");
+
+    private static final List<String> PAYMENT_COLUMNS = List.of(
+            "id", "orderCode", "createdAt", "status", "method", "amount", "cardBrand", "cardLastFourDigits", "transactionId");
+
+    private final ExportRepository exportRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ExportService(ExportRepository exportRepository, ObjectMapper objectMapper) {
+        this.exportRepository = exportRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void exportOrders(OrderFilters filters, FileFormat format, OutputStream output) throws IOException {
+
+        long started = System.nanoTime();
+        long[] rows = {0};
+
+        try (ExportWriter writer = ExportWriter.open(output, format, ORDER_COLUMNS, objectMapper)) {
+            exportRepository.streamOrders(filters, rs -> {
+                write(writer, rs.getLong("id"), rs.getString("order_code"), timestamp(rs), rs.getString("status"),
+                        rs.getString("user_uuid"), rs.getString("user_email"), rs.getBigDecimal("total_price"), rs.getBigDecimal("total_tax"),
+                        rs.getString("street"), rs.getString("city"), rs.getString("zipcode"), rs.getString("country"));
+                rows[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        log.info("Orders exported. format={}, rows={}, took={}ms", format, rows[0], (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public void exportPayments(PaymentFilters filters, FileFormat format, OutputStream output) throws IOException {
+
+        long started = System.nanoTime();
+        long[] rows = {0};
+
+        try (ExportWriter writer = ExportWriter.open(output, format, PAYMENT_COLUMNS, objectMapper)) {
+            exportRepository.streamPayments(filters, rs -> {
+                write(writer, rs.getLong("id"), rs.getString("order_code"), timestamp(rs), rs.getString("status"),
+                        rs.getString("method"), rs.getBigDecimal("amount"), rs.getString("card_brand"),
+                        rs.getString("card_last_four_digits"), rs.getString("transaction_id"));
+                rows[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        log.info("Payments exported. format={}, rows={}, took={}ms", format, rows[0], (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static LocalDateTime timestamp(ResultSet rs) throws SQLException {
+        return rs.getObject("created_at", LocalDateTime.class);
+    }
+
+    private static void write(ExportWriter writer, Object... values) {
+        try {
+            writer.writeRow(values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
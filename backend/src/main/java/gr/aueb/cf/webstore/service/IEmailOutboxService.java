@@ -0,0 +1,18 @@
+package gr.aueb.cf.webstore.service;
+
+import gr.aueb.cf.webstore.model.Order;
+
+public interface IEmailOutboxService {
+
+    void enqueueTwoFactorCode(String to, String code);
+
+    void enqueueEmailVerification(String to, String verificationLink, String token);
+
+    void enqueueOrderConfirmation(Order order);
+
+    void enqueuePasswordResetEmail(String to, String resetLink);
+
+    int dispatchDue(int batchSize);
+
+    int purge();
+}
@@ -0,0 +1,15 @@
+package gr.aueb.cf.webstore.service;
+
+import gr.aueb.cf.webstore.core.enums.FileFormat;
+import gr.aueb.cf.webstore.core.filters.OrderFilters;
+import gr.aueb.cf.webstore.core.filters.PaymentFilters;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface IExportService {
+
+    void exportOrders(OrderFilters filters, FileFormat format, OutputStream output) throws IOException;
+
+    void exportPayments(PaymentFilters filters, FileFormat format, OutputStream output) throws IOException;
+}
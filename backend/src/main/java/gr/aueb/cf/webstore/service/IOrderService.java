@@ -17,7 +17,7 @@ public interface IOrderService {
 
     Paginated<OrderReadOnlyDTO> getPaginatedOrders(int page, int size);
 
-    Paginated<OrderReadOnlyDTO> getOrdersFilteredPaginated(OrderFilters orderFilters);
+    Paginated<OrderReadOnlyDTO> getOrdersFilteredPaginated(OrderFilters orderFilters) throws AppObjectInvalidArgumentException;
 
     OrderReadOnlyDTO updateOrderStatus(OrderUpdateDTO orderUpdateDTO) throws AppObjectNotFoundException, AppObjectInvalidArgumentException;
 
@@ -20,4 +20,6 @@ public interface IPaymentService {
     List<PaymentReadOnlyDTO> getPaymentsForOrder(Long orderId) throws AppObjectNotFoundException;
 
     Paginated<PaymentReadOnlyDTO> getPaginatedPayments(int page, int size);
+
+    Paginated<PaymentReadOnlyDTO> getPaymentsByCursor(String cursor, int size) throws AppObjectInvalidArgumentException;
 }
@@ -0,0 +1,14 @@
+package gr.aueb.cf.webstore.service;
+
+import gr.aueb.cf.webstore.core.enums.FileFormat;
+import gr.aueb.cf.webstore.core.exceptions.AppObjectInvalidArgumentException;
+import gr.aueb.cf.webstore.dto.ProductImportResultDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface IProductImportService {
+
+    ProductImportResultDTO importProducts(InputStream input, FileFormat format)
+            throws AppObjectInvalidArgumentException, IOException;
+}
@@ -24,7 +24,9 @@ public interface IProductService {
 
     Paginated<ProductReadOnlyDTO> getPaginatedProducts(int page, int size);
 
-    Paginated<ProductReadOnlyDTO> getProductsFilteredPaginated(ProductFilters productFilters);
+    Paginated<ProductReadOnlyDTO> getProductsFilteredPaginated(ProductFilters productFilters) throws AppObjectInvalidArgumentException;
+
+    ProductFacetsDTO getProductFacets(ProductFilters productFilters);
 
     List<ProductSpecReadOnlyDTO> getProductSpecs(Long productId)
             throws AppObjectNotFoundException;
@@ -19,5 +19,5 @@ public interface IUserService {
 
     Paginated<UserReadOnlyDTO> getPaginatedUsers(int page, int size);
 
-    Paginated<UserReadOnlyDTO> getUsersFilteredPaginated(UserFilters userFilters);
+    Paginated<UserReadOnlyDTO> getUsersFilteredPaginated(UserFilters userFilters) throws AppObjectInvalidArgumentException;
 }
@@ -1,24 +1,31 @@
 package gr.aueb.cf.webstore.service;
 
+import gr.aueb.cf.webstore.core.cache.ProductCache;
 import gr.aueb.cf.webstore.core.enums.OrderStatus;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectInvalidArgumentException;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectNotAuthorizedException;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectNotFoundException;
+import gr.aueb.cf.webstore.core.filters.KeysetWindow;
 import gr.aueb.cf.webstore.core.filters.OrderFilters;
 import gr.aueb.cf.webstore.core.filters.Paginated;
+import gr.aueb.cf.webstore.core.specifications.OrderSpecification;
 import gr.aueb.cf.webstore.dto.*;
 import gr.aueb.cf.webstore.mapper.Mapper;
 import gr.aueb.cf.webstore.model.*;
+import gr.aueb.cf.webstore.repository.OrderItemRepository;
 import gr.aueb.cf.webstore.repository.OrderRepository;
+import gr.aueb.cf.webstore.repository.PaymentRepository;
 import gr.aueb.cf.webstore.repository.ProductRepository;
 import gr.aueb.cf.webstore.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -26,24 +33,39 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class OrderService implements  IOrderService {
 
     private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final PaymentRepository paymentRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
     private final Mapper mapper;
+    private final ProductCache productCache;
     private static final BigDecimal TAX_RATE = new BigDecimal("0.24");
 
 
     @Autowired
-    public OrderService(OrderRepository orderRepository, Mapper mapper, UserRepository userRepository, ProductRepository productRepository) {
+    public OrderService(OrderRepository orderRepository, OrderItemRepository orderItemRepository, PaymentRepository paymentRepository,
+                        Mapper mapper, UserRepository userRepository, ProductRepository productRepository,
+                        ProductCache productCache) {
         this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.paymentRepository = paymentRepository;
         this.userRepository = userRepository;
         this.productRepository = productRepository;
         this.mapper = mapper;
+        this.productCache = productCache;
     }
 
     @Override
@@ -73,17 +95,19 @@ public class OrderService implements  IOrderService {
 
         order.setShippingAddress(address);
 
+        Map<Long, Product> productsById = loadProducts(orderInsertDTO.items());
+        Map<Long, Integer> quantitiesByProduct = new TreeMap<>();
+
         for (OrderItemInsertDTO itemDTO : orderInsertDTO.items()) {
 
-            Product product = productRepository.findById(itemDTO.productId()).orElseThrow(() -> new AppObjectNotFoundException(
-                            "Product", "Product with id " + itemDTO.productId() + " not found"));
+            Product product = productsById.get(itemDTO.productId());
+
+            if (product == null) throw new AppObjectNotFoundException(
+                            "Product", "Product with id " + itemDTO.productId() + " not found");
 
             if (Boolean.FALSE.equals(product.getIsActive())) throw new AppObjectInvalidArgumentException("Product",
                     "Product with id " + product.getId() + " is inactive");
 
-            if (product.getStock() < itemDTO.quantity()) throw new AppObjectInvalidArgumentException(
-                        "Stock", "Insufficient stock for product " + product.getId());
-
             OrderItem orderItem = new OrderItem();
             orderItem.setProduct(product);
             orderItem.setQuantity(itemDTO.quantity());
@@ -98,9 +122,11 @@ public class OrderService implements  IOrderService {
 
             order.addOrderItem(orderItem);
 
-            product.setStock(product.getStock() - itemDTO.quantity());
+            quantitiesByProduct.merge(product.getId(), itemDTO.quantity(), Integer::sum);
         }
 
+        reserveStock(quantitiesByProduct);
+
         order.setTotalPrice(order.calculateTotal());
 
         Order savedOrder = orderRepository.save(order);
@@ -110,6 +136,36 @@ public class OrderService implements  IOrderService {
         return mapper.mapToOrderReadOnlyDTO(savedOrder);
     }
 
+    private Map<Long, Product> loadProducts(List<OrderItemInsertDTO> items) {
+
+        Set<Long> productIds = items.stream()
+                .map(OrderItemInsertDTO::productId)
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        Map<Long, Product> productsById = new HashMap<>();
+
+        for (Product product : productRepository.findAllByIdIn(productIds)) {
+            productsById.put(product.getId(), product);
+        }
+
+        log.debug("Loaded {} products for {} order lines in one query", productsById.size(), items.size());
+
+        return productsById;
+    }
+
+    private void reserveStock(Map<Long, Integer> quantitiesByProduct) throws AppObjectInvalidArgumentException {
+
+        for (Map.Entry<Long, Integer> entry : quantitiesByProduct.entrySet()) {
+
+            int updated = productRepository.decrementStock(entry.getKey(), entry.getValue());
+
+            if (updated == 0) throw new AppObjectInvalidArgumentException(
+                        "Stock", "Insufficient stock for product " + entry.getKey());
+        }
+
+        productCache.evict(quantitiesByProduct.keySet());
+    }
+
     @Override
     @Transactional(rollbackOn = Exception.class)
     public OrderReadOnlyDTO updateOrderStatus(OrderUpdateDTO orderUpdateDTO) throws AppObjectNotFoundException, AppObjectInvalidArgumentException {
@@ -168,18 +224,58 @@ public class OrderService implements  IOrderService {
 
         log.debug("Paginated orders returned successfully with page={} and size={}", page, size);
 
-        return Paginated.fromPage(pagedOrders.map(mapper::mapToOrderReadOnlyDTO));
+        return Paginated.fromPage(mapOrdersPage(pagedOrders));
     }
 
     @Override
     @Transactional
-    public Paginated<OrderReadOnlyDTO> getOrdersFilteredPaginated(OrderFilters orderFilters) {
+    public Paginated<OrderReadOnlyDTO> getOrdersFilteredPaginated(OrderFilters orderFilters) throws AppObjectInvalidArgumentException {
+
+        if (orderFilters.isCursorMode()) {
+
+            KeysetWindow<Order> window = KeysetWindow.fetch(orderRepository, Order.class, getSpecsFromFilters(orderFilters), orderFilters);
 
-        var page = orderRepository.findAll(orderFilters.getPageable());
+            log.debug("Keyset orders returned successfully with size={}", orderFilters.getPageSize());
+
+            return Paginated.fromKeyset(mapOrders(window.content()), orderFilters.getPageSize(), window.nextCursor());
+        }
+
+        var page = orderRepository.findAll(getSpecsFromFilters(orderFilters), orderFilters.getPageable());
 
         log.debug("Filtered and paginated orders returned successfully with page={} and size={}", orderFilters.getPage(), orderFilters.getPageSize());
 
-        return Paginated.fromPage(page.map(mapper::mapToOrderReadOnlyDTO));
+        return Paginated.fromPage(mapOrdersPage(page));
+    }
+
+    private Specification<Order> getSpecsFromFilters(OrderFilters filters) {
+        return OrderSpecification.orderStatusIs(filters.getStatus())
+                .and(OrderSpecification.orderIdIs(filters.getOrderId()))
+                .and(OrderSpecification.userUuidIs(filters.getUserUuid()))
+                .and(OrderSpecification.createdBetween(filters.getDateFrom(), filters.getDateTo()));
+    }
+
+    private Page<OrderReadOnlyDTO> mapOrdersPage(Page<Order> orders) {
+        return new PageImpl<>(mapOrders(orders.getContent()), orders.getPageable(), orders.getTotalElements());
+    }
+
+    private List<OrderReadOnlyDTO> mapOrders(List<Order> orders) {
+
+        if (orders.isEmpty()) return List.of();
+
+        List<Long> orderIds = orders.stream().map(Order::getId).toList();
+
+        Map<Long, List<OrderItem>> itemsByOrder = orderItemRepository.findByOrderIdIn(orderIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getOrder().getId()));
+
+        Map<Long, List<Payment>> paymentsByOrder = paymentRepository.findByOrderIdIn(orderIds).stream()
+                .collect(Collectors.groupingBy(payment -> payment.getOrder().getId()));
+
+        return orders.stream()
+                .map(order -> mapper.mapToOrderReadOnlyDTO(
+                        order,
+                        itemsByOrder.getOrDefault(order.getId(), List.of()),
+                        paymentsByOrder.getOrDefault(order.getId(), List.of())))
+                .toList();
     }
 
     @Override
@@ -1,42 +1,46 @@
 package gr.aueb.cf.webstore.service;
 
+import gr.aueb.cf.webstore.authentication.AuthTokenStore;
+import gr.aueb.cf.webstore.authentication.UserDetailsCache;
+import gr.aueb.cf.webstore.core.enums.AuthTokenType;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectInvalidArgumentException;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectNotFoundException;
+import gr.aueb.cf.webstore.core.tx.AfterCommit;
 import gr.aueb.cf.webstore.model.User;
 import gr.aueb.cf.webstore.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
 @Slf4j
 public class PasswordResetService implements IPasswordResetService {
 
-    private static final String KEY_PREFIX = "password-reset:";
-    private static final long EXPIRATION_MINUTES = 10L;
+    private static final Duration EXPIRATION = Duration.ofMinutes(10);
 
-    private final StringRedisTemplate redisTemplate;
+    private final AuthTokenStore tokenStore;
     private final UserRepository userRepository;
-    private final IEmailService emailService;
+    private final IEmailOutboxService emailOutboxService;
     private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
 
     @Value("${app.frontend.base-url:http://localhost:5173}")
     private String frontendBaseUrl;
 
     @Autowired
-    public PasswordResetService(StringRedisTemplate redisTemplate, UserRepository userRepository, IEmailService emailService, PasswordEncoder passwordEncoder) {
-        this.redisTemplate = redisTemplate;
+    public PasswordResetService(AuthTokenStore tokenStore, UserRepository userRepository, IEmailOutboxService emailOutboxService, PasswordEncoder passwordEncoder,
+                                UserDetailsCache userDetailsCache) {
+        this.tokenStore = tokenStore;
         this. userRepository = userRepository;
-        this.emailService = emailService;
+        this.emailOutboxService = emailOutboxService;
         this.passwordEncoder = passwordEncoder;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @Override
@@ -49,16 +53,13 @@ public class PasswordResetService implements IPasswordResetService {
             return;
         }
 
-        String token = UUID.randomUUID().toString();
-        String key = KEY_PREFIX + token;
+        String token = tokenStore.newToken();
 
-        redisTemplate
-                .opsForValue()
-                .set(key, email, Duration.ofMinutes(EXPIRATION_MINUTES));
+        tokenStore.put(AuthTokenType.PASSWORD_RESET, token, email, EXPIRATION);
 
         String resetLink = frontendBaseUrl + "/reset-password?token=" + token;
 
-        emailService.sendPasswordResetEmail(email, resetLink);
+        emailOutboxService.enqueuePasswordResetEmail(email, resetLink);
 
         log.info("Sent password reset token for {}", email);
     }
@@ -67,8 +68,8 @@ public class PasswordResetService implements IPasswordResetService {
     @Transactional
     public void resetPassword(String token, String newPassword) throws AppObjectInvalidArgumentException, AppObjectNotFoundException {
 
-        String key = KEY_PREFIX + token;
-        String email = redisTemplate.opsForValue().get(key);
+        // Read, not consume: a failed reset must leave the token usable, so it is deleted only after commit.
+        String email = tokenStore.get(AuthTokenType.PASSWORD_RESET, token);
 
         if (email == null) {
             throw new AppObjectInvalidArgumentException("PasswordReset", "Invalid or expired password reset token");
@@ -78,8 +79,10 @@ public class PasswordResetService implements IPasswordResetService {
                 .orElseThrow(() -> new AppObjectNotFoundException("User", "User with email " + email + " not found"));
 
         user.setPassword(passwordEncoder.encode(newPassword));
+        user.bumpTokenVersion();
         userRepository.save(user);
-        redisTemplate.delete(key);
+        userDetailsCache.evict(email);
+        AfterCommit.run(() -> tokenStore.delete(AuthTokenType.PASSWORD_RESET, token));
 
         log.info("Password reset for user {}", email);
     }
@@ -5,7 +5,9 @@ import gr.aueb.cf.webstore.core.enums.PaymentMethod;
 import gr.aueb.cf.webstore.core.enums.PaymentStatus;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectInvalidArgumentException;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectNotFoundException;
+import gr.aueb.cf.webstore.core.filters.KeysetWindow;
 import gr.aueb.cf.webstore.core.filters.Paginated;
+import gr.aueb.cf.webstore.core.filters.PaymentFilters;
 import gr.aueb.cf.webstore.dto.PaymentConfirmationDTO;
 import gr.aueb.cf.webstore.dto.PaymentReadOnlyDTO;
 import gr.aueb.cf.webstore.dto.PaymentRequestDTO;
@@ -37,7 +39,7 @@ public class PaymentService implements IPaymentService {
     private final PaymentRepository paymentRepository;
     private final OrderRepository orderRepository;
     private final Mapper mapper;
-    private final IEmailService emailService;
+    private final IEmailOutboxService emailOutboxService;
 
 
     private static final Set<String> ALLOWED_TEST_CARDS = Set.of(
@@ -47,11 +49,11 @@ public class PaymentService implements IPaymentService {
     );
 
     @Autowired
-    public PaymentService(PaymentRepository paymentRepository, OrderRepository orderRepository, Mapper mapper, IEmailService emailService) {
+    public PaymentService(PaymentRepository paymentRepository, OrderRepository orderRepository, Mapper mapper, IEmailOutboxService emailOutboxService) {
         this.paymentRepository = paymentRepository;
         this.orderRepository = orderRepository;
         this.mapper = mapper;
-        this.emailService = emailService;
+        this.emailOutboxService = emailOutboxService;
     }
 
     @Override
@@ -152,7 +154,7 @@ public class PaymentService implements IPaymentService {
         log.info("Payment with id={} confirmed successfully (token={}).", updatedPayment.getId(), token);
 
         if (order != null) {
-            emailService.sendOrderConfirmation(order);
+            emailOutboxService.enqueueOrderConfirmation(order);
         }
 
         return mapper.mapToPaymentReadOnlyDTO(updatedPayment);
@@ -197,6 +199,20 @@ public class PaymentService implements IPaymentService {
         return Paginated.fromPage(payments.map(mapper::mapToPaymentReadOnlyDTO));
     }
 
+    @Override
+    public Paginated<PaymentReadOnlyDTO> getPaymentsByCursor(String cursor, int size) throws AppObjectInvalidArgumentException {
+
+        PaymentFilters filters = new PaymentFilters();
+        filters.setCursor(cursor);
+        filters.setPageSize(size);
+        filters.setSortDirection(Sort.Direction.DESC);
+
+        KeysetWindow<Payment> window = KeysetWindow.fetch(paymentRepository, Payment.class, (root, query, cb) -> cb.conjunction(), filters);
+
+        return Paginated.fromKeyset(window.content().stream().map(mapper::mapToPaymentReadOnlyDTO).toList(),
+                filters.getPageSize(), window.nextCursor());
+    }
+
     private void userCanAccessOrder(Order order) throws AppObjectInvalidArgumentException {
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -0,0 +1,220 @@
+package gr.aueb.cf.webstore.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.aueb.cf.webstore.core.cache.ProductCache;
+import gr.aueb.cf.webstore.core.enums.FileFormat;
+import gr.aueb.cf.webstore.core.exceptions.AppObjectInvalidArgumentException;
+import gr.aueb.cf.webstore.core.imports.ProductImportReader;
+import gr.aueb.cf.webstore.core.search.ProductIndexBroadcast;
+import gr.aueb.cf.webstore.dto.ProductImportErrorDTO;
+import gr.aueb.cf.webstore.dto.ProductImportResultDTO;
+import gr.aueb.cf.webstore.dto.ProductImportRowDTO;
+import gr.aueb.cf.webstore.model.Category;
+import gr.aueb.cf.webstore.repository.CategoryRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class ProductImportService implements IProductImportService {
+
+    private static final int MAX_SPEC_LENGTH = 255;
+
+    private final CategoryRepository categoryRepository;
+    private final ProductImportWriter productImportWriter;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ProductIndexBroadcast productIndexBroadcast;
+    private final ProductCache productCache;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    @Autowired
+    public ProductImportService(CategoryRepository categoryRepository, ProductImportWriter productImportWriter, Validator validator,
+                                ObjectMapper objectMapper, ProductIndexBroadcast productIndexBroadcast, ProductCache productCache,
+                                @Value("${app.products.import.batch-size:1000}") int batchSize,
+                                @Value("${app.products.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.categoryRepository = categoryRepository;
+        this.productImportWriter = productImportWriter;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.productIndexBroadcast = productIndexBroadcast;
+        this.productCache = productCache;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    private final class ImportRun {
+
+        private final Map<String, ProductImportReader.Row> chunk = new LinkedHashMap<>();
+        private final Map<String, Long> categoryIds = new HashMap<>();
+        private final Set<String> unknownCategories = new HashSet<>();
+        private final List<ProductImportErrorDTO> errors = new ArrayList<>();
+        private int processed;
+        private int created;
+        private int updated;
+        private int failed;
+
+        private void fail(long line, String sku, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) errors.add(new ProductImportErrorDTO(line, sku, message));
+        }
+    }
+
+    @Override
+    public ProductImportResultDTO importProducts(InputStream input, FileFormat format) throws AppObjectInvalidArgumentException, IOException {
+
+        long started = System.nanoTime();
+        ImportRun run = new ImportRun();
+
+        try (ProductImportReader reader = ProductImportReader.open(input, format, objectMapper)) {
+
+            ProductImportReader.Row row;
+
+            while ((row = reader.next()) != null) {
+
+                run.processed++;
+
+                String error = row.error() != null ? row.error() : validate(row.data());
+
+                if (error != null) {
+                    run.fail(row.line(), row.sku(), error);
+                    continue;
+                }
+
+                // SKUs are unique case-insensitively, so "abc" and "ABC" in one chunk are the same product.
+                String sku = row.sku().toLowerCase(Locale.ROOT);
+
+                if (run.chunk.containsKey(sku)) flushChunk(run);
+
+                run.chunk.put(sku, row);
+
+                if (run.chunk.size() >= batchSize) flushChunk(run);
+            }
+
+            flushChunk(run);
+        } finally {
+            if (run.created + run.updated > 0) productCache.evictAll();
+        }
+
+        log.info("Product import finished. format={}, processed={}, created={}, updated={}, failed={}, took={}ms", format, run.processed,
+                run.created, run.updated, run.failed, (System.nanoTime() - started) / 1_000_000);
+
+        return new ProductImportResultDTO(run.processed, run.created, run.updated, run.failed, run.errors);
+    }
+
+    private String validate(ProductImportRowDTO data) {
+
+        Set<ConstraintViolation<ProductImportRowDTO>> violations = validator.validate(data);
+
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+        }
+
+        if (data.specs() != null) {
+            for (Map.Entry<String, String> spec : data.specs().entrySet()) {
+
+                if (spec.getKey() == null || spec.getKey().isBlank() || spec.getValue() == null || spec.getValue().isBlank()) {
+                    return "Spec names and values cannot be blank";
+                }
+
+                if (spec.getKey().length() > MAX_SPEC_LENGTH || spec.getValue().length() > MAX_SPEC_LENGTH) {
+                    return "Spec '" + spec.getKey() + "' is too long";
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private void flushChunk(ImportRun run) {
+
+        if (run.chunk.isEmpty()) return;
+
+        resolveCategories(run);
+
+        List<ProductImportRowDTO> rows = new ArrayList<>(run.chunk.size());
+        List<ProductImportReader.Row> written = new ArrayList<>(run.chunk.size());
+
+        for (ProductImportReader.Row row : run.chunk.values()) {
+
+            if (run.categoryIds.containsKey(row.data().category().toLowerCase(Locale.ROOT))) {
+                rows.add(row.data());
+                written.add(row);
+            } else {
+                run.fail(row.line(), row.sku(), "Category '" + row.data().category() + "' not found");
+            }
+        }
+
+        run.chunk.clear();
+
+        if (rows.isEmpty()) return;
+
+        ProductImportWriter.Result result;
+
+        try {
+            result = productImportWriter.write(rows, run.categoryIds);
+        } catch (DataAccessException e) {
+            String message = "Batch rejected: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Product import batch of {} rows starting at line {} failed", rows.size(), written.get(0).line(), e);
+            written.forEach(row -> run.fail(row.line(), row.sku(), message));
+            return;
+        }
+
+        run.created += result.created();
+        run.updated += rows.size() - result.created();
+
+        reindex(result.productIds());
+    }
+
+    private void resolveCategories(ImportRun run) {
+
+        Set<String> missing = new HashSet<>();
+
+        for (ProductImportReader.Row row : run.chunk.values()) {
+
+            String key = row.data().category().toLowerCase(Locale.ROOT);
+
+            if (!run.categoryIds.containsKey(key) && !run.unknownCategories.contains(key)) missing.add(row.data().category());
+        }
+
+        if (missing.isEmpty()) return;
+
+        for (Category category : categoryRepository.findByNameIn(missing)) {
+            run.categoryIds.put(category.getName().toLowerCase(Locale.ROOT), category.getId());
+        }
+
+        missing.stream()
+                .map(name -> name.toLowerCase(Locale.ROOT))
+                .filter(key -> !run.categoryIds.containsKey(key))
+                .forEach(run.unknownCategories::add);
+    }
+
+    /**
+     * The chunk has committed by now, so only the products it touched are reloaded into the in-memory indexes
+     * instead of rebuilding them from a full table scan at the end of the import; other nodes reload the same ids.
+     */
+    private void reindex(Collection<Long> productIds) {
+        productIndexBroadcast.reindex(productIds);
+        productIndexBroadcast.publish(productIds);
+    }
+}
@@ -0,0 +1,104 @@
+package gr.aueb.cf.webstore.service;
+
+import gr.aueb.cf.webstore.dto.ProductImportRowDTO;
+import gr.aueb.cf.webstore.model.Product;
+import gr.aueb.cf.webstore.model.ProductSpec;
+import gr.aueb.cf.webstore.repository.ProductBulkRepository;
+import gr.aueb.cf.webstore.repository.ProductSpecRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+@Component
+public class ProductImportWriter {
+
+    private final ProductBulkRepository productBulkRepository;
+    private final ProductSpecRepository productSpecRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public ProductImportWriter(ProductBulkRepository productBulkRepository, ProductSpecRepository productSpecRepository) {
+        this.productBulkRepository = productBulkRepository;
+        this.productSpecRepository = productSpecRepository;
+    }
+
+    public record Result(int created, Collection<Long> productIds) {}
+
+    /**
+     * Upserts one chunk of rows and their specs in a single transaction and returns how many SKUs were new
+     * together with the ids of every product the chunk touched.
+     * Specs are matched by name (case-insensitive): existing ones get the new value, missing ones are added,
+     * and specs that are not in the row are kept.
+     */
+    @Transactional(rollbackOn = Exception.class)
+    public Result write(List<ProductImportRowDTO> rows, Map<String, Long> categoryIds) {
+
+        List<String> skus = rows.stream().map(ProductImportRowDTO::sku).toList();
+
+        Map<String, Long> existingIds = productBulkRepository.findIdsBySku(skus);
+
+        productBulkRepository.upsert(rows, categoryIds);
+
+        List<String> newSkus = skus.stream().filter(sku -> !existingIds.containsKey(key(sku))).toList();
+
+        Map<String, Long> ids = new HashMap<>(existingIds);
+        ids.putAll(productBulkRepository.findIdsBySku(newSkus));
+
+        List<Long> updatedWithSpecs = rows.stream()
+                .filter(row -> row.specs() != null && !row.specs().isEmpty() && existingIds.containsKey(key(row.sku())))
+                .map(row -> existingIds.get(key(row.sku())))
+                .toList();
+
+        Map<Long, Map<String, ProductSpec>> currentSpecs = new HashMap<>();
+
+        if (!updatedWithSpecs.isEmpty()) {
+            for (ProductSpec spec : productSpecRepository.findByProductIdIn(updatedWithSpecs)) {
+                currentSpecs.computeIfAbsent(spec.getProduct().getId(), id -> new HashMap<>())
+                        .put(spec.getName().toLowerCase(Locale.ROOT), spec);
+            }
+        }
+
+        for (ProductImportRowDTO row : rows) {
+
+            if (row.specs() == null || row.specs().isEmpty()) continue;
+
+            Long productId = ids.get(key(row.sku()));
+            Map<String, ProductSpec> specsByName = currentSpecs.getOrDefault(productId, Map.of());
+
+            row.specs().forEach((name, value) -> {
+
+                ProductSpec spec = specsByName.get(name.toLowerCase(Locale.ROOT));
+
+                if (spec == null) {
+                    spec = new ProductSpec();
+                    spec.setProduct(entityManager.getReference(Product.class, productId));
+                    spec.setName(name);
+                    spec.setValue(value);
+                    entityManager.persist(spec);
+                } else if (!Objects.equals(spec.getValue(), value)) {
+                    spec.setValue(value);
+                }
+            });
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        return new Result(newSkus.size(), ids.values());
+    }
+
+    private static String key(String sku) {
+        return sku.toLowerCase(Locale.ROOT);
+    }
+}
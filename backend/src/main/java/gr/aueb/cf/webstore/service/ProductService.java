@@ -1,10 +1,16 @@
 package gr.aueb.cf.webstore.service;
 
+import gr.aueb.cf.webstore.core.cache.ProductCache;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectAlreadyExists;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectInvalidArgumentException;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectNotFoundException;
+import gr.aueb.cf.webstore.core.filters.KeysetWindow;
 import gr.aueb.cf.webstore.core.filters.Paginated;
 import gr.aueb.cf.webstore.core.filters.ProductFilters;
+import gr.aueb.cf.webstore.core.search.ProductAttributeIndex;
+import gr.aueb.cf.webstore.core.search.ProductFacetIndex;
+import gr.aueb.cf.webstore.core.search.ProductIndexBroadcast;
+import gr.aueb.cf.webstore.core.search.ProductSearchIndex;
 import gr.aueb.cf.webstore.core.specifications.ProductSpecification;
 import gr.aueb.cf.webstore.dto.*;
 import gr.aueb.cf.webstore.mapper.Mapper;
@@ -18,8 +24,11 @@ import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -31,8 +40,16 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -42,13 +59,28 @@ public class ProductService implements IProductService {
     private final ProductSpecRepository productSpecRepository;
     private final CategoryRepository categoryRepository;
     private final Mapper mapper;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductFacetIndex productFacetIndex;
+    private final ProductAttributeIndex productAttributeIndex;
+    private final ProductIndexBroadcast productIndexBroadcast;
+    private final ProductCache productCache;
+
+    private static final int MAX_TEXT_SEARCH_CANDIDATES = 1000;
+    private static final int MAX_ID_IN_SIZE = 1000;
 
     @Autowired
-    public ProductService(ProductRepository productRepository, ProductSpecRepository productSpecRepository, CategoryRepository categoryRepository, Mapper mapper) {
+    public ProductService(ProductRepository productRepository, ProductSpecRepository productSpecRepository, CategoryRepository categoryRepository, Mapper mapper,
+                          ProductSearchIndex productSearchIndex, ProductFacetIndex productFacetIndex, ProductAttributeIndex productAttributeIndex,
+                          ProductIndexBroadcast productIndexBroadcast, ProductCache productCache) {
         this.productRepository = productRepository;
         this.productSpecRepository = productSpecRepository;
         this.categoryRepository = categoryRepository;
         this.mapper = mapper;
+        this.productSearchIndex = productSearchIndex;
+        this.productFacetIndex = productFacetIndex;
+        this.productAttributeIndex = productAttributeIndex;
+        this.productIndexBroadcast = productIndexBroadcast;
+        this.productCache = productCache;
     }
 
     @Override
@@ -69,6 +101,10 @@ public class ProductService implements IProductService {
         }
 
         Product savedProduct = productRepository.save(product);
+        productSearchIndex.index(savedProduct);
+        productFacetIndex.index(savedProduct);
+        productIndexBroadcast.publish(List.of(savedProduct.getId()));
+        productCache.evictCounts();
 
         log.info("Product created successfully. id={}, sku={}", savedProduct.getId(), savedProduct.getSku());
 
@@ -113,6 +149,11 @@ public class ProductService implements IProductService {
         }
 
         Product updatedProduct = productRepository.save(existingProduct);
+        productSearchIndex.index(updatedProduct);
+        productFacetIndex.index(updatedProduct);
+        productIndexBroadcast.publish(List.of(updatedProduct.getId()));
+        productCache.evict(updatedProduct.getId());
+        productCache.evictCounts();
 
         log.info("Product with id = {} updated successfully.", updatedProduct.getId());
 
@@ -123,9 +164,17 @@ public class ProductService implements IProductService {
     @Transactional
     public ProductReadOnlyDTO getOneProduct(Long id) throws AppObjectNotFoundException {
 
-        return productRepository.findById(id)
+        ProductReadOnlyDTO cached = productCache.get(id);
+
+        if (cached != null) return cached;
+
+        ProductReadOnlyDTO product = productRepository.findWithDetailsById(id)
                 .map(mapper::mapToProductReadOnlyDTO)
                 .orElseThrow(() -> new AppObjectNotFoundException("Product", "Product with id " + id + " not found"));
+
+        productCache.put(product);
+
+        return product;
     }
 
     @Override
@@ -143,7 +192,33 @@ public class ProductService implements IProductService {
 
     @Override
     @Transactional
-    public Paginated<ProductReadOnlyDTO> getProductsFilteredPaginated(ProductFilters productFilters) {
+    public Paginated<ProductReadOnlyDTO> getProductsFilteredPaginated(ProductFilters productFilters) throws AppObjectInvalidArgumentException {
+
+        if (productFilters.getText() != null && !productFilters.getText().isBlank()) {
+            return getProductsByText(productFilters);
+        }
+
+        if (productFilters.isCursorMode()) {
+
+            KeysetWindow<Product> window = KeysetWindow.fetch(productRepository, Product.class, getSpecsFromFilters(productFilters), productFilters);
+
+            log.debug("Keyset products returned successfully with size={}", productFilters.getPageSize());
+
+            return Paginated.fromKeyset(window.content().stream().map(mapper::mapToProductReadOnlyDTO).toList(),
+                    productFilters.getPageSize(), window.nextCursor());
+        }
+
+        if (Boolean.TRUE.equals(productFilters.getSkipCount())) {
+
+            Specification<Product> spec = getSpecsFromFilters(productFilters);
+            Slice<Product> slice = productRepository.findBy(spec, query -> query.slice(productFilters.getPageable()));
+
+            Long approximateTotal = Boolean.TRUE.equals(productFilters.getApproximateTotal()) ? getApproximateTotal(productFilters, spec) : null;
+
+            log.debug("Sliced products returned successfully with page={} and size={}", productFilters.getPage(), productFilters.getPageSize());
+
+            return Paginated.fromSlice(slice.map(mapper::mapToProductReadOnlyDTO), approximateTotal);
+        }
 
         var filtered = productRepository.findAll(getSpecsFromFilters(productFilters), productFilters.getPageable());
 
@@ -152,14 +227,116 @@ public class ProductService implements IProductService {
         return Paginated.fromPage(filtered.map(mapper::mapToProductReadOnlyDTO));
     }
 
+    @Override
+    public ProductFacetsDTO getProductFacets(ProductFilters productFilters) {
+
+        List<Long> textMatches = productFilters.getText() != null && !productFilters.getText().isBlank()
+                ? productSearchIndex.search(productFilters.getText(), Integer.MAX_VALUE)
+                : null;
+
+        Set<Long> specMatches = productAttributeIndex.match(null, null, productFilters.getSpecs());
+
+        Collection<Long> candidates = specMatches == null ? textMatches
+                : textMatches == null ? specMatches
+                : textMatches.stream().filter(specMatches::contains).toList();
+
+        return productFacetIndex.facets(productFilters, candidates);
+    }
+
+    /**
+     * Ranked full-text page: only the ids are filtered and sliced, the entities are loaded for the requested page alone.
+     * Relevance is the order, so cursor and sort parameters are rejected. Matches beyond {@link #MAX_TEXT_SEARCH_CANDIDATES}
+     * are dropped and the result is flagged as truncated.
+     */
+    private Paginated<ProductReadOnlyDTO> getProductsByText(ProductFilters productFilters) throws AppObjectInvalidArgumentException {
+
+        if (productFilters.isCursorMode()) {
+            throw new AppObjectInvalidArgumentException("Product", "Text search is ordered by relevance and does not support cursor paging");
+        }
+
+        if (!"id".equals(productFilters.getSortBy())) {
+            throw new AppObjectInvalidArgumentException("Product", "Text search is ordered by relevance and cannot be sorted by " + productFilters.getSortBy());
+        }
+
+        List<Long> rankedIds = productSearchIndex.search(productFilters.getText(), MAX_TEXT_SEARCH_CANDIDATES + 1);
+        Pageable pageable = PageRequest.of(productFilters.getPage(), productFilters.getPageSize());
+
+        boolean truncated = rankedIds.size() > MAX_TEXT_SEARCH_CANDIDATES;
+        if (truncated) rankedIds = rankedIds.subList(0, MAX_TEXT_SEARCH_CANDIDATES);
+
+        if (rankedIds.isEmpty()) return Paginated.fromPage(Page.empty(pageable));
+
+        Set<Long> filteredIds = new HashSet<>(productRepository.findIds(getSpecsFromFilters(productFilters).and(ProductSpecification.idIn(rankedIds))));
+        List<Long> matches = rankedIds.stream().filter(filteredIds::contains).toList();
+
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        List<Long> pageIds = matches.subList(from, to);
+
+        Map<Long, Product> productsById = productRepository.findAllWithDetailsByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<ProductReadOnlyDTO> content = pageIds.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .map(mapper::mapToProductReadOnlyDTO)
+                .toList();
+
+        log.debug("Text search products returned successfully with text={}, matches={}, truncated={}", productFilters.getText(), matches.size(), truncated);
+
+        if (Boolean.TRUE.equals(productFilters.getSkipCount())) {
+            return Paginated.fromSlice(new SliceImpl<>(content, pageable, to < matches.size()), null);
+        }
+
+        Paginated<ProductReadOnlyDTO> paginated = Paginated.fromPage(new PageImpl<>(content, pageable, matches.size()));
+        paginated.setTruncated(truncated);
+
+        return paginated;
+    }
+
+    private long getApproximateTotal(ProductFilters filters, Specification<Product> spec) {
+
+        String key = countKey(filters);
+        Long cached = productCache.getCount(key);
+
+        if (cached != null) return cached;
+
+        long total = productRepository.count(spec);
+        productCache.putCount(key, total);
+
+        return total;
+    }
+
+    /**
+     * Only the fields that end up in the count predicate; paging and sorting must not split the cache.
+     */
+    private static String countKey(ProductFilters filters) {
+
+        return Arrays.asList(filters.getName(), filters.getCategory(), filters.getMinPrice(), filters.getMaxPrice(), filters.getBrand(),
+                filters.getSpecName(), filters.getSpecValue(), filters.getSpecs(), filters.getIsActive()).toString();
+    }
+
     private Specification<Product> getSpecsFromFilters(ProductFilters filters) {
 
-        return ProductSpecification.stringFieldLike("name", filters.getName())
+        Specification<Product> spec = ProductSpecification.stringFieldLike("name", filters.getName())
                 .and(ProductSpecification.categoryNameLike(filters.getCategory()))
                 .and(ProductSpecification.priceBetween(filters.getMinPrice(), filters.getMaxPrice()))
                 .and(ProductSpecification.brandLike(filters.getBrand()))
-                .and(ProductSpecification.specLike(filters.getSpecName(), filters.getSpecValue()))
                 .and(ProductSpecification.isActive(filters.getIsActive()));
+
+        Set<Long> specMatches = productAttributeIndex.match(filters.getSpecName(), filters.getSpecValue(), filters.getSpecs());
+
+        if (specMatches == null) return spec;
+
+        if (specMatches.size() <= MAX_ID_IN_SIZE) return spec.and(ProductSpecification.idIn(specMatches));
+
+        // A broad spec filter would turn into a huge IN list in both the page and the count query, so
+        // push it down as EXISTS predicates over the (small) set of matching values instead.
+        for (ProductAttributeIndex.ValueSet valueSet : productAttributeIndex.matchValues(filters.getSpecName(), filters.getSpecValue(), filters.getSpecs())) {
+            spec = spec.and(ProductSpecification.hasSpecValueIn(valueSet.name(), valueSet.values()));
+        }
+
+        return spec;
     }
 
     @Override
@@ -199,6 +376,13 @@ public class ProductService implements IProductService {
         spec.setValue(dto.value());
 
         ProductSpec savedSpec = productSpecRepository.save(spec);
+        product.getProductSpecs().add(savedSpec);
+        productAttributeIndex.replace(productId, product.getProductSpecs().stream()
+                .collect(Collectors.toMap(ProductSpec::getName, ProductSpec::getValue)));
+        productCache.evict(productId);
+        productCache.evictCounts();
+        productFacetIndex.index(product);
+        productIndexBroadcast.publish(List.of(productId));
 
         log.info("ProductSpec created successfully. id={}, productId={}", savedSpec.getId(), productId);
 
@@ -0,0 +1,181 @@
+package gr.aueb.cf.webstore.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+
+@Component
+@Slf4j
+public class SmtpConnectionPool {
+
+    private final JavaMailSenderImpl mailSender;
+    private final Semaphore permits;
+    private final BlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private final long maxIdleMillis;
+
+    private final Timer sendTimer;
+    private final Counter failures;
+    private final Counter connectionsOpened;
+
+    private record PooledTransport(Transport transport, long lastUsedAt) {}
+
+    @Autowired
+    public SmtpConnectionPool(JavaMailSenderImpl mailSender, MeterRegistry meterRegistry,
+                              @Value("${app.email.smtp.pool-size:2}") int poolSize,
+                              @Value("${app.email.smtp.max-idle:PT30S}") Duration maxIdle) {
+        this.mailSender = mailSender;
+        this.permits = new Semaphore(poolSize);
+        this.maxIdleMillis = maxIdle.toMillis();
+        this.sendTimer = Timer.builder("email.smtp.send").register(meterRegistry);
+        this.failures = Counter.builder("email.smtp.failures").register(meterRegistry);
+        this.connectionsOpened = Counter.builder("email.smtp.connections").register(meterRegistry);
+        meterRegistry.gauge("email.smtp.idle", idle, BlockingDeque::size);
+    }
+
+    public void send(MimeMessage message) {
+
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while waiting for an SMTP connection", e);
+        }
+
+        try {
+            sendTimer.record(() -> sendWithRetry(message));
+        } finally {
+            permits.release();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+
+        PooledTransport pooled;
+
+        while ((pooled = idle.pollFirst()) != null) closeQuietly(pooled.transport());
+    }
+
+    /**
+     * Closes pooled connections that sat idle longer than max-idle. Sends always take the most recently used
+     * connection from the head, so stale ones collect at the tail where nothing else would reach them.
+     */
+    @Scheduled(fixedDelayString = "${app.email.smtp.max-idle:PT30S}")
+    public void evictIdle() {
+
+        long now = System.currentTimeMillis();
+        PooledTransport pooled;
+
+        while ((pooled = idle.pollLast()) != null) {
+
+            if (now - pooled.lastUsedAt() < maxIdleMillis) {
+                idle.offerLast(pooled);
+                return;
+            }
+
+            closeQuietly(pooled.transport());
+        }
+    }
+
+    private void sendWithRetry(MimeMessage message) {
+
+        PooledTransport pooled = idle.pollFirst();
+        boolean reused = pooled != null && System.currentTimeMillis() - pooled.lastUsedAt() < maxIdleMillis;
+
+        if (pooled != null && !reused) closeQuietly(pooled.transport());
+
+        try {
+            if (reused) {
+                try {
+                    sendOn(pooled.transport(), message);
+                    return;
+                } catch (MessagingException e) {
+                    if (!isConnectionFailure(pooled.transport(), e)) {
+                        release(pooled.transport());
+                        throw e;
+                    }
+
+                    closeQuietly(pooled.transport());
+                    log.debug("Pooled SMTP connection failed, retrying on a fresh connection", e);
+                }
+            }
+
+            Transport transport = connect();
+
+            try {
+                sendOn(transport, message);
+            } catch (MessagingException e) {
+                if (isConnectionFailure(transport, e)) closeQuietly(transport);
+                else release(transport);
+                throw e;
+            }
+        } catch (MessagingException e) {
+            failures.increment();
+            throw new MailSendException("Failed to send mail", e);
+        }
+    }
+
+    /**
+     * Only a broken connection is worth a retry. A rejected message (bad recipient, size limit) would fail the
+     * same way on a fresh connection, and resending after an ambiguous server reply could deliver it twice.
+     */
+    private static boolean isConnectionFailure(Transport transport, MessagingException e) {
+        return !transport.isConnected() || (!(e instanceof SendFailedException) && e.getCause() instanceof IOException);
+    }
+
+    private void release(Transport transport) {
+        idle.offerFirst(new PooledTransport(transport, System.currentTimeMillis()));
+    }
+
+    private void sendOn(Transport transport, MimeMessage message) throws MessagingException {
+
+        message.saveChanges();
+        transport.sendMessage(message, message.getAllRecipients());
+        release(transport);
+    }
+
+    private Transport connect() throws MessagingException {
+
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+
+        String username = mailSender.getUsername();
+        String password = mailSender.getPassword();
+
+        if (username == null || username.isEmpty()) {
+            username = null;
+            password = null;
+        }
+
+        transport.connect(mailSender.getHost(), mailSender.getPort(), username, password);
+        connectionsOpened.increment();
+
+        return transport;
+    }
+
+    private static void closeQuietly(Transport transport) {
+
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Failed to close SMTP connection", e);
+        }
+    }
+}
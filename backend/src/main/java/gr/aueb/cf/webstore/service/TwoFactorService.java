@@ -1,43 +1,72 @@
 package gr.aueb.cf.webstore.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.aueb.cf.webstore.authentication.AuthTokenStore;
+import gr.aueb.cf.webstore.core.enums.AuthTokenType;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectInvalidArgumentException;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectNotFoundException;
 import gr.aueb.cf.webstore.dto.TwoFactorChallengeDTO;
-import gr.aueb.cf.webstore.dto.TwoFactorRedisDTO;
 import gr.aueb.cf.webstore.dto.TwoFactorVerificationRequestDTO;
 import gr.aueb.cf.webstore.model.User;
 import gr.aueb.cf.webstore.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 import java.security.SecureRandom;
 import java.time.Duration;
-import java.util.UUID;
+import java.util.List;
 
 @Service
 @Slf4j
 public class TwoFactorService implements ITwoFactorService {
 
     private static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
-    private static final String KEY = "2fa:";
-    private static final String EMAIL_KEY = "2fa:email:";
+    private static final Duration LOCKOUT_TTL = Duration.ofMinutes(15);
+    private static final int MAX_ATTEMPTS = 5;
+
+    /*
+     * Both scripts declare every key they touch in KEYS: the challenge hash, the user's latest-token key and the
+     * user's lockout key. All three carry the same hash tag derived from the email, so they share one Redis Cluster
+     * slot; the tag travels in the token as "<tag>.<random>", since a verify request carries nothing else.
+     */
+    private static final RedisScript<Long> CREATE_SCRIPT = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[3]) == 1 then return 0 end
+            redis.call('HSET', KEYS[1], 'e', ARGV[1], 'c', ARGV[2], 'a', 0)
+            redis.call('EXPIRE', KEYS[1], ARGV[4])
+            redis.call('SET', KEYS[2], ARGV[3], 'EX', ARGV[4])
+            return 1
+            """, Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> VERIFY_SCRIPT = RedisScript.of("""
+            local entry = redis.call('HMGET', KEYS[1], 'e', 'c')
+            local email = entry[1]
+            if not email then return {'INVALID'} end
+            if redis.call('GET', KEYS[2]) ~= ARGV[1] then return {'INVALID'} end
+            if entry[2] == ARGV[2] then
+                redis.call('DEL', KEYS[1], KEYS[2])
+                return {'OK', email}
+            end
+            local attempts = redis.call('HINCRBY', KEYS[1], 'a', 1)
+            if attempts >= tonumber(ARGV[3]) then
+                redis.call('DEL', KEYS[1], KEYS[2])
+                redis.call('SET', KEYS[3], '1', 'EX', ARGV[4])
+                return {'LOCKED'}
+            end
+            return {'WRONG_CODE'}
+            """, List.class);
 
     private final UserRepository userRepository;
-    private final IEmailService emailService;
-    private final ObjectMapper objectMapper;
-    private final StringRedisTemplate redisTemplate;
+    private final IEmailOutboxService emailOutboxService;
+    private final AuthTokenStore tokenStore;
     private final SecureRandom random = new SecureRandom();
 
     @Autowired
-    public TwoFactorService(UserRepository userRepository, IEmailService emailService, StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+    public TwoFactorService(UserRepository userRepository, IEmailOutboxService emailOutboxService, AuthTokenStore tokenStore) {
         this.userRepository = userRepository;
-        this.emailService = emailService;
-        this.redisTemplate = redisTemplate;
-        this.objectMapper = objectMapper;
+        this.emailOutboxService = emailOutboxService;
+        this.tokenStore = tokenStore;
     }
 
     @Override
@@ -61,23 +90,19 @@ public class TwoFactorService implements ITwoFactorService {
                         "User", "User with email " + email + " not found"));
 
         String code = String.format("%06d", random.nextInt(1_000_000));
-        String token = UUID.randomUUID().toString();
+        String tag = tokenStore.slotTag(user.getEmail());
+        String secret = tokenStore.newToken();
+        String token = tag + "." + secret;
 
-        TwoFactorRedisDTO entry = new TwoFactorRedisDTO(user.getEmail(), code);
+        Long created = tokenStore.execute(CREATE_SCRIPT, keys(tag, secret),
+                user.getEmail(), code, token, String.valueOf(DEFAULT_TTL.toSeconds()));
 
-        String key = KEY + token;
-        String emailKey = EMAIL_KEY + user.getEmail();
-
-        try {
-            String json = objectMapper.writeValueAsString(entry);
-            redisTemplate.opsForValue().set(key, json, DEFAULT_TTL);
-            redisTemplate.opsForValue().set(emailKey, token, DEFAULT_TTL);
-        } catch (JsonProcessingException e) {
-            log.error("Failed to serialize TwoFactorRedisDTO", e);
-            throw new AppObjectInvalidArgumentException("TwoFactor", "Failed to create two-factor challenge");
+        if (created == null || created == 0L) {
+            log.warn("2FA challenge refused for locked email={}", user.getEmail());
+            throw new AppObjectInvalidArgumentException("TwoFactor", "Too many failed attempts, please try again later");
         }
 
-        emailService.sendTwoFactorCode(user.getEmail(), code);
+        emailOutboxService.enqueueTwoFactorCode(user.getEmail(), code);
 
         log.info("2FA challenge created for user email={}, token={}, ttl={}s", user.getEmail(), token, DEFAULT_TTL.toSeconds());
 
@@ -100,38 +125,34 @@ public class TwoFactorService implements ITwoFactorService {
         if (code == null || code.isBlank())
             throw new AppObjectInvalidArgumentException("TwoFactor", "Two-factor code is required");
 
-        String key = KEY + token;
-        String json = redisTemplate.opsForValue().get(key);
+        int separator = token.indexOf('.');
 
-        if (json == null)
+        if (separator <= 0 || separator == token.length() - 1)
             throw new AppObjectInvalidArgumentException("TwoFactor", "Invalid or expired two-factor token");
 
-        TwoFactorRedisDTO entry;
-
-        try {
-            entry = objectMapper.readValue(json, TwoFactorRedisDTO.class);
-        } catch (JsonProcessingException e) {
-            log.error("Failed to deserialize TwoFactorRedisDTO for token {}", token, e);
-            redisTemplate.delete(key);
-            throw new AppObjectInvalidArgumentException("TwoFactor", "Invalid two-factor token");
-        }
-
-        String emailKey = EMAIL_KEY + entry.email();
-        String latestTokenForEmail = redisTemplate.opsForValue().get(emailKey);
-
-        if (latestTokenForEmail == null || !latestTokenForEmail.equals(token)) {
-            throw new AppObjectInvalidArgumentException("TwoFactor", "Invalid two-factor token");
+        List<?> result = tokenStore.execute(VERIFY_SCRIPT, keys(token.substring(0, separator), token.substring(separator + 1)),
+                token, code, String.valueOf(MAX_ATTEMPTS), String.valueOf(LOCKOUT_TTL.toSeconds()));
+
+        String outcome = result == null || result.isEmpty() ? "INVALID" : String.valueOf(result.get(0));
+
+        switch (outcome) {
+            case "OK" -> {
+                String email = String.valueOf(result.get(1));
+                log.info("2FA verification succeeded for email={} with token={}", email, token);
+                return email;
+            }
+            case "WRONG_CODE" -> throw new AppObjectInvalidArgumentException("TwoFactor", "Invalid two-factor code");
+            case "LOCKED" -> {
+                log.warn("2FA challenge locked after {} failed attempts, token={}", MAX_ATTEMPTS, token);
+                throw new AppObjectInvalidArgumentException("TwoFactor", "Too many failed attempts, please try again later");
+            }
+            default -> throw new AppObjectInvalidArgumentException("TwoFactor", "Invalid or expired two-factor token");
         }
+    }
 
-        if (!entry.code().equals(code)) {
-            throw new AppObjectInvalidArgumentException("TwoFactor", "Invalid two-factor code");
-        }
-
-        redisTemplate.delete(key);
-        redisTemplate.delete(emailKey);
-
-        log.info("2FA verification succeeded for email={} with token={}", entry.email(), token);
-
-        return entry.email();
+    private List<String> keys(String tag, String secret) {
+        return List.of(tokenStore.key(AuthTokenType.TWO_FACTOR, tag, secret),
+                tokenStore.key(AuthTokenType.TWO_FACTOR_LATEST, tag, ""),
+                tokenStore.key(AuthTokenType.TWO_FACTOR_LOCK, tag, ""));
     }
 }
@@ -1,7 +1,11 @@
 package gr.aueb.cf.webstore.service;
 
+import gr.aueb.cf.webstore.authentication.UserDetailsCache;
+import gr.aueb.cf.webstore.core.enums.Role;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectAlreadyExists;
+import gr.aueb.cf.webstore.core.exceptions.AppObjectInvalidArgumentException;
 import gr.aueb.cf.webstore.core.exceptions.AppObjectNotFoundException;
+import gr.aueb.cf.webstore.core.filters.KeysetWindow;
 import gr.aueb.cf.webstore.core.filters.Paginated;
 import gr.aueb.cf.webstore.core.filters.UserFilters;
 import gr.aueb.cf.webstore.core.specifications.UserSpecification;
@@ -21,6 +25,8 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.util.Objects;
+
 @Service
 @Slf4j
 public class UserService implements IUserService {
@@ -28,14 +34,17 @@ public class UserService implements IUserService {
     private final UserRepository userRepository;
     private final Mapper mapper;
     private final IEmailVerificationService emailVerificationService;
+    private final UserDetailsCache userDetailsCache;
 
 
     @Autowired
-    public UserService(UserRepository userRepository, Mapper mapper, IEmailVerificationService emailVerificationService) {
+    public UserService(UserRepository userRepository, Mapper mapper, IEmailVerificationService emailVerificationService,
+                       UserDetailsCache userDetailsCache) {
 
         this.userRepository = userRepository;
         this.mapper = mapper;
         this.emailVerificationService = emailVerificationService;
+        this.userDetailsCache = userDetailsCache;
     }
 
 
@@ -65,6 +74,7 @@ public class UserService implements IUserService {
             existing.setEmailVerified(false);
 
             User savedUser = userRepository.save(existing);
+            userDetailsCache.evict(savedUser.getEmail());
 
             log.info("Unverified user updated and verification re-sent. email={}, phone={}", savedUser.getEmail(), savedUser.getPhoneNumber());
 
@@ -107,8 +117,22 @@ public class UserService implements IUserService {
                         "PhoneNumber", "User with phone " + userUpdateDTO.phoneNumber() + " already exists");
         }
 
+        String previousEmail = existingUser.getEmail();
+        Role previousRole = existingUser.getRole();
+        Boolean previousIsActive = existingUser.getIsActive();
+        String previousPassword = existingUser.getPassword();
+
         mapper.mapToUserEntity(userUpdateDTO, existingUser);
+
+        if (!previousEmail.equals(existingUser.getEmail()) || previousRole != existingUser.getRole()
+                || !Objects.equals(previousIsActive, existingUser.getIsActive()) || !previousPassword.equals(existingUser.getPassword())) {
+            existingUser.bumpTokenVersion();
+        }
+
         User updatedUser = userRepository.save(existingUser);
+
+        userDetailsCache.evict(previousEmail);
+        userDetailsCache.evict(updatedUser.getEmail());
         log.info("User with id={} updated successfully.", updatedUser.getId());
 
         return mapper.mapToUserReadOnlyDTO(updatedUser);
@@ -134,7 +158,18 @@ public class UserService implements IUserService {
     }
 
     @Override
-    public Paginated<UserReadOnlyDTO> getUsersFilteredPaginated(UserFilters userFilters) {
+    public Paginated<UserReadOnlyDTO> getUsersFilteredPaginated(UserFilters userFilters) throws AppObjectInvalidArgumentException {
+
+        if (userFilters.isCursorMode()) {
+
+            KeysetWindow<User> window = KeysetWindow.fetch(userRepository, User.class, getSpecsFromFilters(userFilters), userFilters);
+
+            log.debug("Keyset users returned successfully with size={}", userFilters.getPageSize());
+
+            return Paginated.fromKeyset(window.content().stream().map(mapper::mapToUserReadOnlyDTO).toList(),
+                    userFilters.getPageSize(), window.nextCursor());
+        }
+
         var filtered = userRepository.findAll(getSpecsFromFilters(userFilters), userFilters.getPageable());
 
         log.debug("Filtered and paginated users returned successfully with page={} and size={}", userFilters.getPage(),
@@ -0,0 +1,146 @@
+create table `categories` (
+    `is_active` bit not null,
+    `created_at` datetime(6) not null,
+    `id` bigint not null auto_increment,
+    `updated_at` datetime(6) not null,
+    `name` varchar(255) not null,
+    primary key (`id`)
+) engine=InnoDB;
+
+create table `order_items` (
+    `price` decimal(38,2) not null,
+    `quantity` integer not null,
+    `tax` decimal(38,2) not null,
+    `created_at` datetime(6) not null,
+    `id` bigint not null auto_increment,
+    `order_id` bigint not null,
+    `product_id` bigint not null,
+    `updated_at` datetime(6) not null,
+    primary key (`id`)
+) engine=InnoDB;
+
+create table `orders` (
+    `total_price` decimal(38,2) not null,
+    `created_at` datetime(6) not null,
+    `id` bigint not null auto_increment,
+    `updated_at` datetime(6) not null,
+    `user_id` bigint not null,
+    `city` varchar(255),
+    `country` varchar(255),
+    `order_code` varchar(255) not null,
+    `street` varchar(255),
+    `zipcode` varchar(255),
+    `status` enum ('CANCELLED','DELIVERED','PENDING','SHIPPED') not null,
+    primary key (`id`)
+) engine=InnoDB;
+
+create table `payments` (
+    `amount` decimal(38,2) not null,
+    `card_last_four_digits` varchar(4),
+    `created_at` datetime(6) not null,
+    `id` bigint not null auto_increment,
+    `order_id` bigint not null,
+    `updated_at` datetime(6) not null,
+    `card_brand` varchar(255) not null,
+    `payment_token` varchar(255) not null,
+    `transaction_id` varchar(255) not null,
+    `method` enum ('CASH_ON_DELIVERY','CREDIT_CARD','PAYPAL') not null,
+    `status` enum ('COMPLETED','FAILED','PENDING') not null,
+    primary key (`id`)
+) engine=InnoDB;
+
+create table `product_specs` (
+    `created_at` datetime(6) not null,
+    `id` bigint not null auto_increment,
+    `product_id` bigint not null,
+    `updated_at` datetime(6) not null,
+    `name` varchar(255) not null,
+    `value` varchar(255) not null,
+    primary key (`id`)
+) engine=InnoDB;
+
+create table `products` (
+    `is_active` bit,
+    `price` decimal(38,2) not null,
+    `stock` integer not null,
+    `category_id` bigint not null,
+    `created_at` datetime(6) not null,
+    `id` bigint not null auto_increment,
+    `updated_at` datetime(6) not null,
+    `description` varchar(1000),
+    `brand` varchar(255),
+    `image` varchar(255),
+    `name` varchar(255) not null,
+    `sku` varchar(255) not null,
+    primary key (`id`)
+) engine=InnoDB;
+
+create table `users` (
+    `email_verified` bit not null,
+    `is_active` bit not null,
+    `created_at` datetime(6) not null,
+    `id` bigint not null auto_increment,
+    `updated_at` datetime(6) not null,
+    `email` varchar(255) not null,
+    `firstname` varchar(255) not null,
+    `lastname` varchar(255) not null,
+    `password` varchar(255) not null,
+    `phone_number` varchar(255),
+    `uuid` varchar(255),
+    `role` enum ('ADMIN','USER') not null,
+    primary key (`id`)
+) engine=InnoDB;
+
+alter table `categories`
+   add constraint `UK63be57w0lp7mjmyg4bhlp08s7` unique (`name`);
+
+alter table `orders`
+   add constraint `UKb0hs8cmpwwu6kny4226je0yyb` unique (`order_code`);
+
+alter table `payments`
+   add constraint `UKb6wuckiu0j7t8wtdsuih6xu5j` unique (`payment_token`);
+
+alter table `payments`
+   add constraint `UKmql5qwl76uj6lull11p0ar6vv` unique (`transaction_id`);
+
+alter table `products`
+   add constraint `UKrg764aic7vqcb78h1mr5so40d` unique (`sku`);
+
+alter table `users`
+   add constraint `UK6j5t70rd2eub907qysjvvd76n` unique (`email`);
+
+alter table `users`
+   add constraint `UKadf16uc2muitd0doxrtgdpts` unique (`phone_number`);
+
+alter table `users`
+   add constraint `UK6gyaymdekihum67hqjkipaqjs` unique (`uuid`);
+
+alter table `order_items`
+   add constraint `FK6gg8woymk43fp55jtjlgkd1eh`
+   foreign key (`order_id`)
+   references `orders` (`id`);
+
+alter table `order_items`
+   add constraint `FKsjxs5u3kcg428neygham498rn`
+   foreign key (`product_id`)
+   references `products` (`id`);
+
+alter table `orders`
+   add constraint `FKitd0598xtxfyrro0df4ey8kdd`
+   foreign key (`user_id`)
+   references `users` (`id`);
+
+alter table `payments`
+   add constraint `FKixsgybjojxt46kqnatrqsao88`
+   foreign key (`order_id`)
+   references `orders` (`id`);
+
+alter table `product_specs`
+   add constraint `FKhpaikiqpv2w5qwtsv6gwqe0d9`
+   foreign key (`product_id`)
+   references `products` (`id`);
+
+alter table `products`
+   add constraint `FK827lf8qbstfj3abq30f0asvv6`
+   foreign key (`category_id`)
+   references `categories` (`id`);
@@ -0,0 +1,16 @@
+create table `email_outbox` (
+    `attempts` integer not null,
+    `created_at` datetime(6) not null,
+    `id` bigint not null auto_increment,
+    `next_attempt_at` datetime(6) not null,
+    `updated_at` datetime(6) not null,
+    `last_error` varchar(1000),
+    `payload` varchar(2000) not null,
+    `recipient` varchar(255) not null,
+    `status` enum ('DEAD','PENDING') not null,
+    `type` enum ('EMAIL_VERIFICATION','ORDER_CONFIRMATION','PASSWORD_RESET','TWO_FACTOR_CODE') not null,
+    primary key (`id`)
+) engine=InnoDB;
+
+create index idx_email_outbox_status_next_attempt
+   on `email_outbox` (`status`, `next_attempt_at`);
@@ -0,0 +1,2 @@
+create index idx_products_active_price
+   on `products` (`is_active`, `price`);
@@ -0,0 +1,23 @@
+create table `orders_seq` (
+    `next_val` bigint
+) engine=InnoDB;
+
+insert into `orders_seq` select coalesce(max(`id`), 0) + 51 from `orders`;
+
+create table `order_items_seq` (
+    `next_val` bigint
+) engine=InnoDB;
+
+insert into `order_items_seq` select coalesce(max(`id`), 0) + 51 from `order_items`;
+
+create table `payments_seq` (
+    `next_val` bigint
+) engine=InnoDB;
+
+insert into `payments_seq` select coalesce(max(`id`), 0) + 51 from `payments`;
+
+create table `product_specs_seq` (
+    `next_val` bigint
+) engine=InnoDB;
+
+insert into `product_specs_seq` select coalesce(max(`id`), 0) + 51 from `product_specs`;
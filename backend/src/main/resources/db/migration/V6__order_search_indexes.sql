@@ -0,0 +1,5 @@
+create index idx_orders_status_created_at
+   on `orders` (`status`, `created_at`);
+
+create index idx_orders_user_created_at
+   on `orders` (`user_id`, `created_at`);
@@ -0,0 +1,2 @@
+alter table `email_outbox`
+   modify column `status` enum ('DEAD','PENDING','SENDING','SENT') not null;
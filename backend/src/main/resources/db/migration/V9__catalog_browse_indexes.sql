@@ -0,0 +1,14 @@
+create index idx_products_category_active
+   on `products` (`category_id`, `is_active`);
+
+create index idx_products_price
+   on `products` (`price`);
+
+create index idx_products_name
+   on `products` (`name`);
+
+create index idx_products_created_at
+   on `products` (`created_at`);
+
+create index idx_product_specs_name_value
+   on `product_specs` (`name`, `value`);
@@ -0,0 +1,127 @@
+package gr.aueb.cf.webstore;
+
+import gr.aueb.cf.webstore.authentication.JwtService;
+import gr.aueb.cf.webstore.core.enums.Role;
+import gr.aueb.cf.webstore.model.Category;
+import gr.aueb.cf.webstore.model.Product;
+import gr.aueb.cf.webstore.model.User;
+import gr.aueb.cf.webstore.support.TestFixtures;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the catalog, login and order paths concurrently in virtual-thread mode with a pool smaller than
+ * the load, and fails on any jdk.VirtualThreadPinned event, i.e. a virtual thread that blocked while holding
+ * a monitor and so kept its carrier. The pool still exceeds the ten concurrent orders, since fetching a new
+ * id block needs a second connection. The SMTP and Redis clients are unreachable here and fail fast, so their
+ * pinning shows up only against the real services.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=12",
+        "spring.datasource.hikari.connection-timeout=30000"
+})
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class VirtualThreadPinningTest {
+
+    private static final int REQUESTS = 40;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void requestPathsDoNotPinCarrierThreads() throws Exception {
+        User admin = fixtures.user(Role.ADMIN);
+        Category category = fixtures.category();
+        String token = jwtService.generateToken(admin.getEmail(), Role.ADMIN.name(), admin.getTokenVersion());
+
+        String baseUrl = "http://localhost:" + port;
+        List<HttpRequest> requests = List.of(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/products?page=0&size=20")).GET().build(),
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/categories")).GET().build(),
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"nobody@test.local\",\"password\":\"Secret#123\"}"))
+                        .build());
+
+        // One product per order: the stock row lock is not what this test is about.
+        List<HttpRequest> orders = new ArrayList<>();
+        for (int i = 0; i < REQUESTS / 4; i++) {
+            Product product = fixtures.product(category, 10);
+            orders.add(HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders"))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + token)
+                    .POST(HttpRequest.BodyPublishers.ofString("""
+                            {"userUuid":"%s","shippingAddress":{"street":"Main 1","city":"Athens","zipcode":"10558","country":"GR"},
+                             "items":[{"productId":%d,"quantity":1}]}""".formatted(admin.getUuid(), product.getId())))
+                    .build());
+        }
+
+        ConcurrentLinkedQueue<String> pinned = new ConcurrentLinkedQueue<>();
+
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", event -> pinned.add(describe(event)));
+            recording.startAsync();
+
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            List<Integer> statuses = new ArrayList<>();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<Integer>> responses = new ArrayList<>();
+                for (int i = 0; i < REQUESTS; i++) {
+                    HttpRequest request = i % 4 == 3 ? orders.get(i / 4) : requests.get(i % 4);
+                    responses.add(executor.submit(() -> client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()));
+                }
+                for (Future<Integer> response : responses) {
+                    statuses.add(response.get());
+                }
+            }
+
+            recording.stop();
+            assertThat(statuses).allMatch(status -> status < 500);
+        }
+
+        assertThat(pinned).as("pinned virtual threads").isEmpty();
+    }
+
+    private static String describe(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return event.getDuration().toString();
+        }
+        return event.getDuration() + " at " + event.getStackTrace().getFrames().stream()
+                .limit(8)
+                .map(RecordedFrame::getMethod)
+                .map(method -> method.getType().getName() + "." + method.getName())
+                .collect(Collectors.joining(" < "));
+    }
+}
@@ -0,0 +1,98 @@
+package gr.aueb.cf.webstore.security;
+
+import gr.aueb.cf.webstore.authentication.JwtService;
+import gr.aueb.cf.webstore.core.enums.Role;
+import gr.aueb.cf.webstore.dto.UserUpdateDTO;
+import gr.aueb.cf.webstore.model.User;
+import gr.aueb.cf.webstore.service.IUserService;
+import gr.aueb.cf.webstore.support.TestFixtures;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class TokenVersionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Value("${app.security.secret-key}")
+    private String secretKey;
+
+    private User admin;
+
+    @BeforeEach
+    void createAdmin() {
+        admin = fixtures.user(Role.ADMIN);
+    }
+
+    @Test
+    void tokenCarryingTheCurrentVersionIsAccepted() throws Exception {
+        String token = jwtService.generateToken(admin.getEmail(), Role.ADMIN.name(), admin.getTokenVersion());
+
+        mockMvc.perform(get("/api/orders").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void roleChangeRevokesEarlierTokens() throws Exception {
+        String token = jwtService.generateToken(admin.getEmail(), Role.ADMIN.name(), admin.getTokenVersion());
+
+        userService.updateUser(new UserUpdateDTO(admin.getUuid(), admin.getFirstname(), admin.getLastname(), Role.USER,
+                true, null, null, admin.getEmail()));
+
+        assertThatThrownBy(() -> mockMvc.perform(get("/api/orders").header("Authorization", "Bearer " + token)))
+                .hasRootCauseInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void tokenCarryingAnotherVersionIsRejected() throws Exception {
+        String token = jwtService.generateToken(admin.getEmail(), Role.ADMIN.name(), admin.getTokenVersion() + 1);
+
+        assertThatThrownBy(() -> mockMvc.perform(get("/api/orders").header("Authorization", "Bearer " + token)))
+                .hasRootCauseInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void tokenIssuedBeforeTheVersionClaimCountsAsVersionZero() throws Exception {
+        String token = Jwts.builder()
+                .claim("role", Role.ADMIN.name())
+                .setSubject(admin.getEmail())
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)), SignatureAlgorithm.HS256)
+                .compact();
+
+        mockMvc.perform(get("/api/orders").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,103 @@
+package gr.aueb.cf.webstore.security;
+
+import gr.aueb.cf.webstore.authentication.CustomUserDetailsService;
+import gr.aueb.cf.webstore.authentication.JwtService;
+import gr.aueb.cf.webstore.authentication.UserDetailsCache;
+import gr.aueb.cf.webstore.authentication.UserPrincipal;
+import gr.aueb.cf.webstore.core.enums.Role;
+import gr.aueb.cf.webstore.dto.UserUpdateDTO;
+import gr.aueb.cf.webstore.model.User;
+import gr.aueb.cf.webstore.repository.UserRepository;
+import gr.aueb.cf.webstore.service.IUserService;
+import gr.aueb.cf.webstore.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class UserDetailsCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void promotionTakesEffectOnTheNextRequest() throws Exception {
+        User user = fixtures.user(Role.USER);
+        assertThat(roles(userDetailsService.loadUserByUsername(user.getEmail()))).containsExactly("ROLE_USER");
+
+        userService.updateUser(new UserUpdateDTO(user.getUuid(), user.getFirstname(), user.getLastname(), Role.ADMIN,
+                true, null, null, user.getEmail()));
+
+        User promoted = userRepository.findByEmail(user.getEmail()).orElseThrow();
+        String token = jwtService.generateToken(promoted.getEmail(), Role.ADMIN.name(), promoted.getTokenVersion());
+
+        mockMvc.perform(get("/api/orders").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void evictionBroadcastByAnotherNodeDropsTheCachedPrincipal() {
+        User user = fixtures.user(Role.ADMIN);
+        userDetailsService.loadUserByUsername(user.getEmail());
+
+        // Another node demotes the user: this node sees only the row change and the eviction message.
+        User stored = userRepository.findByEmail(user.getEmail()).orElseThrow();
+        stored.setRole(Role.USER);
+        userRepository.saveAndFlush(stored);
+
+        assertThat(roles(userDetailsService.loadUserByUsername(user.getEmail()))).containsExactly("ROLE_ADMIN");
+
+        userDetailsCache.onEvictionMessage(user.getEmail());
+
+        assertThat(roles(userDetailsService.loadUserByUsername(user.getEmail()))).containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void cachedPrincipalIsAnImmutableSnapshot() {
+        User user = fixtures.user(Role.USER);
+
+        UserPrincipal principal = userDetailsService.loadUserByUsername(user.getEmail());
+
+        assertThat(principal).isNotInstanceOf(User.class);
+        assertThat(principal.tokenVersion()).isEqualTo(user.getTokenVersion());
+        assertThatThrownBy(() -> principal.getAuthorities().clear()).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(userDetailsService.loadUserByUsername(user.getEmail())).isSameAs(principal);
+    }
+
+    private static List<String> roles(UserPrincipal principal) {
+        return principal.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+    }
+}
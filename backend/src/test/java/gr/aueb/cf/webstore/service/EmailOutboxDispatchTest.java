@@ -0,0 +1,125 @@
+package gr.aueb.cf.webstore.service;
+
+import gr.aueb.cf.webstore.core.enums.OutboxStatus;
+import gr.aueb.cf.webstore.model.EmailOutbox;
+import gr.aueb.cf.webstore.repository.EmailOutboxRepository;
+import gr.aueb.cf.webstore.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EmailOutboxDispatchTest {
+
+    @Autowired
+    private IEmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailOutboxLeases emailOutboxLeases;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @MockitoBean
+    private IEmailService emailService;
+
+    @Test
+    void sendsOutsideAnyTransactionAndMarksTheRowSent() {
+        String recipient = TestFixtures.unique("sent") + "@test.local";
+        AtomicBoolean sentInTransaction = new AtomicBoolean(true);
+
+        doAnswer(invocation -> {
+            sentInTransaction.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return null;
+        }).when(emailService).sendTwoFactorCode(eq(recipient), anyString());
+
+        emailOutboxService.enqueueTwoFactorCode(recipient, "123456");
+        emailOutboxService.dispatchDue(1000);
+
+        assertThat(sentInTransaction).isFalse();
+        assertThat(find(recipient).getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(find(recipient).getPayload()).doesNotContain("123456");
+    }
+
+    @Test
+    void deadRowsArePurgedOnTheirOwnRetention() {
+        String recipient = TestFixtures.unique("dead") + "@test.local";
+        String kept = TestFixtures.unique("kept") + "@test.local";
+
+        doThrow(new IllegalStateException("smtp down")).when(emailService).sendTwoFactorCode(eq(recipient), anyString());
+
+        emailOutboxService.enqueueTwoFactorCode(recipient, "123456");
+        emailOutboxService.enqueueTwoFactorCode(kept, "654321");
+        EmailOutbox email = find(recipient);
+        email.setAttempts(7);
+        emailOutboxRepository.save(email);
+        emailOutboxService.dispatchDue(1000);
+
+        assertThat(find(recipient).getStatus()).isEqualTo(OutboxStatus.DEAD);
+
+        LocalDateTime now = LocalDateTime.now();
+        emailOutboxLeases.purge(now.minusDays(7), now.plusSeconds(1));
+
+        assertThat(emailOutboxRepository.findAll()).extracting(EmailOutbox::getRecipient)
+                .doesNotContain(recipient)
+                .contains(kept);
+    }
+
+    @Test
+    void failedSendGoesBackToPendingWithBackoff() {
+        String recipient = TestFixtures.unique("failed") + "@test.local";
+
+        doThrow(new IllegalStateException("smtp down")).when(emailService).sendTwoFactorCode(eq(recipient), anyString());
+
+        emailOutboxService.enqueueTwoFactorCode(recipient, "123456");
+        emailOutboxService.dispatchDue(1000);
+
+        EmailOutbox email = find(recipient);
+        assertThat(email.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(email.getAttempts()).isEqualTo(1);
+        assertThat(email.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(email.getLastError()).contains("smtp down");
+    }
+
+    @Test
+    void expiredLeaseIsReclaimedAndTheLateOutcomeIsDropped() {
+        String recipient = TestFixtures.unique("leased") + "@test.local";
+        emailOutboxService.enqueueTwoFactorCode(recipient, "123456");
+
+        EmailOutbox first = claim(recipient, Duration.ZERO);
+        EmailOutbox second = claim(recipient, Duration.ofMinutes(5));
+
+        first.setStatus(OutboxStatus.SENT);
+        second.setStatus(OutboxStatus.SENT);
+
+        assertThat(emailOutboxLeases.release(first, first.getNextAttemptAt())).isFalse();
+        assertThat(emailOutboxLeases.release(second, second.getNextAttemptAt())).isTrue();
+    }
+
+    private EmailOutbox claim(String recipient, Duration lease) {
+        List<EmailOutbox> claimed = emailOutboxLeases.claim(1000, lease);
+        return claimed.stream().filter(email -> email.getRecipient().equals(recipient)).findFirst().orElseThrow();
+    }
+
+    private EmailOutbox find(String recipient) {
+        return emailOutboxRepository.findAll().stream()
+                .filter(email -> email.getRecipient().equals(recipient))
+                .findFirst()
+                .orElseThrow();
+    }
+}
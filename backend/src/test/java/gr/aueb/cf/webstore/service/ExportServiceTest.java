@@ -0,0 +1,134 @@
+package gr.aueb.cf.webstore.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gr.aueb.cf.webstore.core.enums.FileFormat;
+import gr.aueb.cf.webstore.core.enums.OrderStatus;
+import gr.aueb.cf.webstore.core.enums.Role;
+import gr.aueb.cf.webstore.core.filters.OrderFilters;
+import gr.aueb.cf.webstore.dto.AddressDTO;
+import gr.aueb.cf.webstore.dto.OrderInsertDTO;
+import gr.aueb.cf.webstore.dto.OrderItemInsertDTO;
+import gr.aueb.cf.webstore.dto.OrderReadOnlyDTO;
+import gr.aueb.cf.webstore.model.Product;
+import gr.aueb.cf.webstore.model.User;
+import gr.aueb.cf.webstore.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Import(TestFixtures.class)
+class ExportServiceTest {
+
+    @Autowired
+    private IExportService exportService;
+
+    @Autowired
+    private IOrderService orderService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private OrderReadOnlyDTO order;
+
+    @BeforeEach
+    void placeOrder() throws Exception {
+        User user = fixtures.user(Role.USER);
+        Product product = fixtures.product(fixtures.category(), 5);
+
+        order = orderService.createOrder(new OrderInsertDTO(user.getUuid(),
+                new AddressDTO("=HYPERLINK(\"http://evil\")", "Athens, Attica", "-10558", "GR"),
+                List.of(new OrderItemInsertDTO(product.getId(), 2))));
+    }
+
+    @Test
+    void csvQuotesSeparatorsAndNeutralisesFormulas() throws Exception {
+        String csv = export(FileFormat.CSV);
+
+        assertThat(csv).startsWith("id,orderCode,createdAt,status,userUuid,userEmail,totalPrice,totalTax,street,city,zipcode,country\n");
+
+        String row = rowFor(csv, order.orderCode());
+
+        assertThat(row)
+                .contains("\"'=HYPERLINK(\"\"http://evil\"\")\"")
+                .contains("\"Athens, Attica\"")
+                .contains(",'-10558,")
+                .contains(",20.00,");
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws Exception {
+        String ndjson = export(FileFormat.NDJSON);
+
+        JsonNode node = null;
+        for (String line : ndjson.split("\n")) {
+            JsonNode candidate = objectMapper.readTree(line);
+            if (order.orderCode().equals(candidate.get("orderCode").asText())) node = candidate;
+        }
+
+        assertThat(node).isNotNull();
+        assertThat(node.get("street").asText()).isEqualTo("=HYPERLINK(\"http://evil\")");
+        assertThat(node.get("totalPrice").decimalValue()).isEqualByComparingTo("20.00");
+    }
+
+    @Test
+    void statusFilterExcludesOtherOrders() throws Exception {
+        OrderFilters filters = OrderFilters.builder().status(OrderStatus.CANCELLED).build();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportOrders(filters, FileFormat.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).doesNotContain(order.orderCode());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void endpointStreamsAnAttachment() throws Exception {
+        mockMvc.perform(post("/api/orders/export").param("format", "CSV"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.csv\""))
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string(containsString(order.orderCode())));
+    }
+
+    private String export(FileFormat format) throws Exception {
+        OrderFilters filters = OrderFilters.builder().dateFrom(LocalDate.now().minusDays(1)).dateTo(LocalDate.now()).build();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportOrders(filters, format, out);
+
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String rowFor(String csv, String orderCode) {
+        return csv.lines().filter(line -> line.contains(orderCode)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,107 @@
+package gr.aueb.cf.webstore.service;
+
+import gr.aueb.cf.webstore.core.filters.Paginated;
+import gr.aueb.cf.webstore.core.filters.ProductFilters;
+import gr.aueb.cf.webstore.dto.ProductReadOnlyDTO;
+import gr.aueb.cf.webstore.model.Category;
+import gr.aueb.cf.webstore.model.Product;
+import gr.aueb.cf.webstore.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walks every page of a nullable sort column. The test database orders NULLs like MySQL (first ascending,
+ * last descending), which is what the keyset predicate assumes.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class KeysetPaginationTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    @Autowired
+    private IProductService productService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private String category;
+    private List<Long> withoutBrand;
+    private List<Long> firstBrand;
+    private List<Long> secondBrand;
+
+    @BeforeEach
+    void createProducts() {
+        Category created = fixtures.category();
+        category = created.getName();
+
+        withoutBrand = create(created, null, 3);
+        firstBrand = create(created, "a-" + TestFixtures.unique("brand"), 2);
+        secondBrand = create(created, "b-" + TestFixtures.unique("brand"), 2);
+    }
+
+    @Test
+    void ascendingWalkPutsNullsFirstWithoutGapsOrRepeats() throws Exception {
+        List<Long> expected = new ArrayList<>(withoutBrand);
+        expected.addAll(firstBrand);
+        expected.addAll(secondBrand);
+
+        assertThat(walk(Sort.Direction.ASC)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void descendingWalkPutsNullsLastWithoutGapsOrRepeats() throws Exception {
+        List<Long> expected = new ArrayList<>(secondBrand.reversed());
+        expected.addAll(firstBrand.reversed());
+        expected.addAll(withoutBrand.reversed());
+
+        assertThat(walk(Sort.Direction.DESC)).containsExactlyElementsOf(expected);
+    }
+
+    private List<Long> walk(Sort.Direction direction) throws Exception {
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = "";
+
+        while (cursor != null) {
+            ProductFilters filters = ProductFilters.builder().category(category).build();
+            filters.setSortBy("brand");
+            filters.setSortDirection(direction);
+            filters.setPageSize(PAGE_SIZE);
+            filters.setCursor(cursor);
+
+            Paginated<ProductReadOnlyDTO> page = productService.getProductsFilteredPaginated(filters);
+
+            page.getData().forEach(product -> ids.add(product.id()));
+            cursor = page.getNextCursor();
+        }
+
+        return ids;
+    }
+
+    private List<Long> create(Category category, String brand, int count) {
+
+        List<Long> ids = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            Product product = fixtures.product(category, TestFixtures.unique("keyset"), brand, 1);
+            ids.add(product.getId());
+        }
+
+        Collections.sort(ids);
+
+        return ids;
+    }
+}
@@ -0,0 +1,99 @@
+package gr.aueb.cf.webstore.service;
+
+import gr.aueb.cf.webstore.core.enums.OrderStatus;
+import gr.aueb.cf.webstore.core.enums.Role;
+import gr.aueb.cf.webstore.core.filters.CategoryFilters;
+import gr.aueb.cf.webstore.core.filters.OrderFilters;
+import gr.aueb.cf.webstore.dto.CategoryReadOnlyDTO;
+import gr.aueb.cf.webstore.dto.OrderItemInsertDTO;
+import gr.aueb.cf.webstore.dto.OrderReadOnlyDTO;
+import gr.aueb.cf.webstore.dto.OrderUpdateDTO;
+import gr.aueb.cf.webstore.model.Category;
+import gr.aueb.cf.webstore.model.Product;
+import gr.aueb.cf.webstore.model.User;
+import gr.aueb.cf.webstore.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class OrderFilterTest {
+
+    @Autowired
+    private IOrderService orderService;
+
+    @Autowired
+    private ICategoryService categoryService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private User buyer;
+    private OrderReadOnlyDTO pending;
+    private OrderReadOnlyDTO shipped;
+    private Category category;
+
+    @BeforeEach
+    void createOrders() throws Exception {
+        buyer = fixtures.user(Role.USER);
+        category = fixtures.category();
+        Product product = fixtures.product(category, 10);
+
+        pending = orderService.createOrder(TestFixtures.order(buyer, List.of(new OrderItemInsertDTO(product.getId(), 1))));
+        shipped = orderService.createOrder(TestFixtures.order(buyer, List.of(new OrderItemInsertDTO(product.getId(), 1))));
+        orderService.updateOrderStatus(new OrderUpdateDTO(shipped.id(), OrderStatus.SHIPPED));
+
+        User other = fixtures.user(Role.USER);
+        orderService.createOrder(TestFixtures.order(other, List.of(new OrderItemInsertDTO(product.getId(), 1))));
+    }
+
+    @Test
+    void userUuidAndStatusNarrowTheOrders() throws Exception {
+        assertThat(orderIds(OrderFilters.builder().userUuid(buyer.getUuid()).build()))
+                .containsExactlyInAnyOrder(pending.id(), shipped.id());
+
+        assertThat(orderIds(OrderFilters.builder().userUuid(buyer.getUuid()).status(OrderStatus.SHIPPED).build()))
+                .containsExactly(shipped.id());
+    }
+
+    @Test
+    void orderIdMatchesTheNumericIdOrTheCode() throws Exception {
+        assertThat(orderIds(OrderFilters.builder().orderId(pending.id().toString()).build())).containsExactly(pending.id());
+        assertThat(orderIds(OrderFilters.builder().orderId(pending.orderCode().toLowerCase()).build())).containsExactly(pending.id());
+    }
+
+    @Test
+    void dateRangeIsInclusiveOfWholeDays() throws Exception {
+        LocalDate today = LocalDate.now();
+
+        assertThat(orderIds(OrderFilters.builder().userUuid(buyer.getUuid()).dateFrom(today).dateTo(today).build())).hasSize(2);
+        assertThat(orderIds(OrderFilters.builder().userUuid(buyer.getUuid()).dateFrom(today.plusDays(1)).build())).isEmpty();
+        assertThat(orderIds(OrderFilters.builder().userUuid(buyer.getUuid()).dateTo(today.minusDays(1)).build())).isEmpty();
+    }
+
+    @Test
+    void categoriesFilterByIdAndNamePrefix() {
+        CategoryFilters byId = CategoryFilters.builder().categoryId(category.getId().toString()).build();
+        CategoryFilters byPrefix = CategoryFilters.builder().name(category.getName().substring(0, category.getName().length() - 2)).build();
+        CategoryFilters byBadId = CategoryFilters.builder().categoryId("not-a-number").build();
+
+        assertThat(categoryService.getCategoriesFilteredPaginated(byId).getData()).extracting(CategoryReadOnlyDTO::id).containsExactly(category.getId());
+        assertThat(categoryService.getCategoriesFilteredPaginated(byPrefix).getData()).extracting(CategoryReadOnlyDTO::id).containsExactly(category.getId());
+        assertThat(categoryService.getCategoriesFilteredPaginated(byBadId).getData()).isEmpty();
+    }
+
+    private List<Long> orderIds(OrderFilters filters) throws Exception {
+        filters.setPageSize(50);
+        return orderService.getOrdersFilteredPaginated(filters).getData().stream().map(OrderReadOnlyDTO::id).toList();
+    }
+}
@@ -0,0 +1,115 @@
+package gr.aueb.cf.webstore.service;
+
+import gr.aueb.cf.webstore.core.enums.PaymentMethod;
+import gr.aueb.cf.webstore.core.enums.PaymentStatus;
+import gr.aueb.cf.webstore.core.enums.Role;
+import gr.aueb.cf.webstore.core.filters.OrderFilters;
+import gr.aueb.cf.webstore.core.filters.Paginated;
+import gr.aueb.cf.webstore.dto.OrderItemInsertDTO;
+import gr.aueb.cf.webstore.dto.OrderReadOnlyDTO;
+import gr.aueb.cf.webstore.model.Category;
+import gr.aueb.cf.webstore.model.Payment;
+import gr.aueb.cf.webstore.model.Product;
+import gr.aueb.cf.webstore.model.User;
+import gr.aueb.cf.webstore.repository.OrderRepository;
+import gr.aueb.cf.webstore.repository.PaymentRepository;
+import gr.aueb.cf.webstore.support.TestFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the order read paths against N+1: items and payments are loaded for the whole page at once,
+ * so the number of statements must not grow with the page size.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class OrderQueryCountTest {
+
+    private static final int SMALL_PAGE = 1;
+    private static final int LARGE_PAGE = 50;
+
+    @Autowired
+    private IOrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private User buyer;
+
+    @BeforeEach
+    void createOrders() throws Exception {
+        buyer = fixtures.user(Role.USER);
+        Category category = fixtures.category();
+        Product first = fixtures.product(category, LARGE_PAGE);
+        Product second = fixtures.product(category, LARGE_PAGE);
+
+        for (int i = 0; i < LARGE_PAGE; i++) {
+            OrderReadOnlyDTO order = orderService.createOrder(TestFixtures.order(buyer, List.of(
+                    new OrderItemInsertDTO(first.getId(), 1), new OrderItemInsertDTO(second.getId(), 1))));
+
+            paymentRepository.save(Payment.builder()
+                    .order(orderRepository.getReferenceById(order.id()))
+                    .method(PaymentMethod.CREDIT_CARD)
+                    .status(PaymentStatus.COMPLETED)
+                    .amount(new BigDecimal("20.00"))
+                    .cardBrand("VISA")
+                    .transactionId(TestFixtures.unique("tx"))
+                    .paymentToken(TestFixtures.unique("token"))
+                    .build());
+        }
+    }
+
+    @Test
+    void filteredOrdersLoadInConstantQueries() throws Exception {
+        assertThat(statements(filters(LARGE_PAGE, null), LARGE_PAGE)).isEqualTo(statements(filters(SMALL_PAGE, null), SMALL_PAGE));
+    }
+
+    @Test
+    void keysetOrdersLoadInConstantQueries() throws Exception {
+        assertThat(statements(filters(LARGE_PAGE, ""), LARGE_PAGE)).isEqualTo(statements(filters(SMALL_PAGE, ""), SMALL_PAGE));
+    }
+
+    private long statements(OrderFilters filters, int expectedSize) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Paginated<OrderReadOnlyDTO> page = orderService.getOrdersFilteredPaginated(filters);
+
+        assertThat(page.getData()).hasSize(expectedSize);
+        assertThat(page.getData()).allSatisfy(order -> {
+            assertThat(order.items()).hasSize(2);
+            assertThat(order.payments()).hasSize(1);
+        });
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private OrderFilters filters(int size, String cursor) {
+        OrderFilters filters = OrderFilters.builder().userUuid(buyer.getUuid()).build();
+        filters.setPageSize(size);
+        filters.setCursor(cursor);
+        return filters;
+    }
+}
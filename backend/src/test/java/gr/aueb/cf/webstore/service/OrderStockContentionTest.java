@@ -0,0 +1,94 @@
+package gr.aueb.cf.webstore.service;
+
+import gr.aueb.cf.webstore.core.enums.Role;
+import gr.aueb.cf.webstore.core.exceptions.AppObjectInvalidArgumentException;
+import gr.aueb.cf.webstore.dto.OrderItemInsertDTO;
+import gr.aueb.cf.webstore.model.Product;
+import gr.aueb.cf.webstore.model.User;
+import gr.aueb.cf.webstore.repository.ProductRepository;
+import gr.aueb.cf.webstore.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class OrderStockContentionTest {
+
+    private static final int STOCK = 10;
+    private static final int BUYERS = 40;
+
+    @Autowired
+    private IOrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void concurrentCheckoutsOfAHotProductNeverOversell() throws Exception {
+        User user = fixtures.user(Role.USER);
+        Product product = fixtures.product(fixtures.category(), STOCK);
+
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < BUYERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        orderService.createOrder(TestFixtures.order(user, List.of(new OrderItemInsertDTO(product.getId(), 1))));
+                        placed.incrementAndGet();
+                    } catch (AppObjectInvalidArgumentException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) future.get(30, TimeUnit.SECONDS);
+        }
+
+        assertThat(placed.get()).isEqualTo(STOCK);
+        assertThat(rejected.get()).isEqualTo(BUYERS - STOCK);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStock()).isZero();
+    }
+
+    @Test
+    void aMultiLineCartIsReservedAllOrNothing() {
+        User user = fixtures.user(Role.USER);
+        Product plenty = fixtures.product(fixtures.category(), 5);
+        Product scarce = fixtures.product(fixtures.category(), 1);
+
+        List<OrderItemInsertDTO> items = List.of(
+                new OrderItemInsertDTO(plenty.getId(), 2),
+                new OrderItemInsertDTO(scarce.getId(), 2));
+
+        assertThatThrownBy(() -> orderService.createOrder(TestFixtures.order(user, items)))
+                .isInstanceOf(AppObjectInvalidArgumentException.class);
+
+        assertThat(productRepository.findById(plenty.getId()).orElseThrow().getStock()).isEqualTo(5);
+        assertThat(productRepository.findById(scarce.getId()).orElseThrow().getStock()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,65 @@
+package gr.aueb.cf.webstore.service;
+
+import gr.aueb.cf.webstore.core.filters.ProductFilters;
+import gr.aueb.cf.webstore.dto.ProductInsertDTO;
+import gr.aueb.cf.webstore.model.Category;
+import gr.aueb.cf.webstore.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class ProductApproximateTotalTest {
+
+    @Autowired
+    private IProductService productService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Category category;
+    private String brand;
+
+    @BeforeEach
+    void createProducts() {
+        category = fixtures.category();
+        brand = TestFixtures.unique("brand");
+
+        for (int i = 0; i < 3; i++) fixtures.product(category, TestFixtures.unique("product"), brand, 1);
+    }
+
+    @Test
+    void everyPageOfTheSameFilterSharesOneCount() throws Exception {
+        assertThat(total(0)).isEqualTo(3);
+
+        fixtures.product(category, TestFixtures.unique("product"), brand, 1);
+
+        assertThat(total(1)).isEqualTo(3);
+    }
+
+    @Test
+    void productWritesDropTheCachedCounts() throws Exception {
+        assertThat(total(0)).isEqualTo(3);
+
+        productService.saveProduct(new ProductInsertDTO(TestFixtures.unique("product"), "Created through the service",
+                new BigDecimal("10.00"), category.getId(), 1, TestFixtures.unique("SKU"), true, brand), null);
+
+        assertThat(total(0)).isEqualTo(4);
+    }
+
+    private long total(int page) throws Exception {
+        ProductFilters filters = ProductFilters.builder().brand(brand).skipCount(true).approximateTotal(true).build();
+        filters.setPage(page);
+        filters.setPageSize(2);
+        return productService.getProductsFilteredPaginated(filters).getTotalElements();
+    }
+}
@@ -0,0 +1,134 @@
+package gr.aueb.cf.webstore.service;
+
+import gr.aueb.cf.webstore.core.filters.Paginated;
+import gr.aueb.cf.webstore.core.filters.ProductFilters;
+import gr.aueb.cf.webstore.core.filters.SpecCriterion;
+import gr.aueb.cf.webstore.core.search.ProductAttributeIndex;
+import gr.aueb.cf.webstore.dto.ProductReadOnlyDTO;
+import gr.aueb.cf.webstore.model.Category;
+import gr.aueb.cf.webstore.model.Product;
+import gr.aueb.cf.webstore.model.ProductSpec;
+import gr.aueb.cf.webstore.repository.ProductSpecRepository;
+import gr.aueb.cf.webstore.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class ProductAttributeFilterTest {
+
+    private static final int LARGE = 1100;
+    private static final int SMALL = 5;
+
+    @Autowired
+    private IProductService productService;
+
+    @Autowired
+    private ProductAttributeIndex productAttributeIndex;
+
+    @Autowired
+    private ProductSpecRepository productSpecRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private String specName;
+    private List<Long> large;
+    private List<Long> small;
+
+    @BeforeEach
+    void createProducts() {
+        specName = TestFixtures.unique("vram");
+        Category category = fixtures.category();
+
+        large = createWithSpec(category, LARGE, "16 GB");
+        small = createWithSpec(category, SMALL, "8GB");
+
+        List<Long> all = new ArrayList<>(large);
+        all.addAll(small);
+        productAttributeIndex.reindex(all);
+    }
+
+    @Test
+    void broadMatchesFallBackToAnExistsPredicateWithTheSameResult() throws Exception {
+        Paginated<ProductReadOnlyDTO> page = productService.getProductsFilteredPaginated(filters(new SpecCriterion(specName, null, null, new BigDecimal("12"), null)));
+
+        assertThat(page.getTotalElements()).isEqualTo(LARGE);
+        assertThat(page.getData()).extracting(ProductReadOnlyDTO::id).allMatch(large::contains);
+    }
+
+    @Test
+    void narrowMatchesStayOnTheIdList() throws Exception {
+        Paginated<ProductReadOnlyDTO> page = productService.getProductsFilteredPaginated(filters(new SpecCriterion(specName, "8gb", null, null, null)));
+
+        assertThat(page.getTotalElements()).isEqualTo(SMALL);
+    }
+
+    @Test
+    void replaceDropsTheOldValue() throws Exception {
+        Long moved = large.get(0);
+
+        productAttributeIndex.replace(moved, Map.of(specName, "8GB"));
+
+        assertThat(productAttributeIndex.match(null, null, List.of(new SpecCriterion(specName, null, null, null, new BigDecimal("10")))))
+                .contains(moved)
+                .hasSize(SMALL + 1);
+        assertThat(productAttributeIndex.match(null, null, List.of(new SpecCriterion(specName, null, null, new BigDecimal("12"), null))))
+                .doesNotContain(moved);
+    }
+
+    @Test
+    void replaceInsideARolledBackTransactionIsNeverApplied() {
+        Long product = small.get(0);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            productAttributeIndex.replace(product, Map.of(specName, "32GB"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(productAttributeIndex.match(null, null, List.of(new SpecCriterion(specName, "8GB", null, null, null))))
+                .contains(product);
+    }
+
+    private List<Long> createWithSpec(Category category, int count, String value) {
+        List<Long> ids = new ArrayList<>(count);
+        List<ProductSpec> specs = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            Product product = fixtures.product(category, 1);
+            ids.add(product.getId());
+
+            ProductSpec spec = new ProductSpec();
+            spec.setProduct(product);
+            spec.setName(specName);
+            spec.setValue(value);
+            specs.add(spec);
+        }
+
+        productSpecRepository.saveAll(specs);
+
+        return ids;
+    }
+
+    private static ProductFilters filters(SpecCriterion criterion) {
+        ProductFilters filters = ProductFilters.builder().specs(List.of(criterion)).build();
+        filters.setPageSize(20);
+        return filters;
+    }
+}
@@ -0,0 +1,84 @@
+package gr.aueb.cf.webstore.service;
+
+import gr.aueb.cf.webstore.core.filters.ProductFilters;
+import gr.aueb.cf.webstore.core.search.ProductFacetIndex;
+import gr.aueb.cf.webstore.model.Category;
+import gr.aueb.cf.webstore.model.Product;
+import gr.aueb.cf.webstore.repository.ProductRepository;
+import gr.aueb.cf.webstore.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class ProductFacetIndexTest {
+
+    @Autowired
+    private ProductFacetIndex productFacetIndex;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private String brand;
+    private Product cheap;
+    private Product mid;
+    private Product dear;
+
+    @BeforeEach
+    void createProducts() {
+        brand = TestFixtures.unique("brand");
+        Category category = fixtures.category();
+
+        cheap = priced(fixtures.product(category, TestFixtures.unique("cheap"), brand, 1), "10.00");
+        mid = priced(fixtures.product(category, TestFixtures.unique("mid"), brand, 1), "250.00");
+        dear = priced(fixtures.product(category, TestFixtures.unique("dear"), brand, 1), "700.00");
+        Product longerBrand = fixtures.product(category, TestFixtures.unique("other"), brand + "-pro", 1);
+
+        productFacetIndex.reindex(List.of(cheap.getId(), mid.getId(), dear.getId(), longerBrand.getId()));
+    }
+
+    @Test
+    void brandFilterMatchesTheExactValueIgnoringCase() {
+        assertThat(total(ProductFilters.builder().brand(brand.toUpperCase()).build())).isEqualTo(3);
+    }
+
+    @Test
+    void priceRangeIsInclusiveAtBothEnds() {
+        ProductFilters filters = ProductFilters.builder().brand(brand).minPrice(new BigDecimal("250")).maxPrice(new BigDecimal("700")).build();
+
+        assertThat(total(filters)).isEqualTo(2);
+    }
+
+    @Test
+    void deletedProductIsDroppedOnReindex() {
+        productRepository.deleteById(mid.getId());
+        productFacetIndex.reindex(List.of(mid.getId()));
+
+        ProductFilters filters = ProductFilters.builder().brand(brand).build();
+
+        assertThat(total(filters)).isEqualTo(2);
+        assertThat(total(ProductFilters.builder().brand(brand).minPrice(new BigDecimal("200")).maxPrice(new BigDecimal("300")).build())).isZero();
+    }
+
+    private int total(ProductFilters filters) {
+        return productFacetIndex.facets(filters, null).total();
+    }
+
+    private Product priced(Product product, String price) {
+        product.setPrice(new BigDecimal(price));
+        return productRepository.save(product);
+    }
+}
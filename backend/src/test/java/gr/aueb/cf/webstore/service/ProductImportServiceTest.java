@@ -0,0 +1,122 @@
+package gr.aueb.cf.webstore.service;
+
+import gr.aueb.cf.webstore.core.enums.FileFormat;
+import gr.aueb.cf.webstore.core.filters.SpecCriterion;
+import gr.aueb.cf.webstore.core.search.ProductAttributeIndex;
+import gr.aueb.cf.webstore.core.search.ProductSearchIndex;
+import gr.aueb.cf.webstore.dto.ProductImportErrorDTO;
+import gr.aueb.cf.webstore.dto.ProductImportResultDTO;
+import gr.aueb.cf.webstore.model.Category;
+import gr.aueb.cf.webstore.model.Product;
+import gr.aueb.cf.webstore.repository.ProductRepository;
+import gr.aueb.cf.webstore.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class ProductImportServiceTest {
+
+    @Autowired
+    private IProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductAttributeIndex productAttributeIndex;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Category category;
+    private String sku;
+    private String token;
+    private String spec;
+
+    @BeforeEach
+    void setUp() {
+        category = fixtures.category();
+        sku = TestFixtures.unique("IMP").toUpperCase();
+        token = TestFixtures.unique("zq").replace("-", "");
+        spec = TestFixtures.unique("vram");
+    }
+
+    @Test
+    void csvImportCreatesProductsReportsBadRowsAndIndexesWhatItWrote() throws Exception {
+        ProductImportResultDTO result = importCsv(
+                "sku,name,description,price,stock,category,brand,spec:" + spec,
+                sku + ",Card " + token + ",\"Fast, quiet\",499.90,7," + category.getName() + ",Acme,12GB",
+                sku + "-2,Other,Desc,abc,1," + category.getName() + ",,",
+                sku + "-3,Other,Desc,10.00,1,no-such-category,,");
+
+        assertThat(result.processed()).isEqualTo(3);
+        assertThat(result.created()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(2);
+        assertThat(result.errors()).extracting(ProductImportErrorDTO::line).containsExactlyInAnyOrder(3L, 4L);
+
+        Product product = productRepository.findBySku(sku).orElseThrow();
+        assertThat(product.getDescription()).isEqualTo("Fast, quiet");
+        assertThat(product.getPrice()).isEqualByComparingTo("499.90");
+
+        assertThat(productSearchIndex.search(token, 10)).containsExactly(product.getId());
+        assertThat(productAttributeIndex.match(null, null, List.of(new SpecCriterion(spec, "12gb", null, null, null))))
+                .containsExactly(product.getId());
+    }
+
+    @Test
+    void reimportMatchesSkusCaseInsensitivelyAndReplacesSpecValues() throws Exception {
+        importCsv("sku,name,description,price,stock,category,spec:" + spec,
+                sku + ",First,Desc,100.00,1," + category.getName() + ",8GB");
+
+        ProductImportResultDTO result = importCsv("sku,name,description,price,stock,category,spec:" + spec,
+                sku.toLowerCase() + ",Renamed " + token + ",Desc,120.00,3," + category.getName() + ",16GB");
+
+        assertThat(result.created()).isZero();
+        assertThat(result.updated()).isEqualTo(1);
+
+        Product product = productRepository.findBySku(sku).orElseThrow();
+        assertThat(product.getName()).isEqualTo("Renamed " + token);
+
+        assertThat(productSearchIndex.search(token, 10)).containsExactly(product.getId());
+        assertThat(productAttributeIndex.match(null, null, List.of(new SpecCriterion(spec, null, null, new BigDecimal("12"), null))))
+                .containsExactly(product.getId());
+        assertThat(productAttributeIndex.match(null, null, List.of(new SpecCriterion(spec, "8GB", null, null, null))))
+                .isEmpty();
+    }
+
+    @Test
+    void ndjsonImportReadsOneObjectPerLine() throws Exception {
+        String ndjson = """
+                {"sku":"%1$s","name":"Json %2$s","description":"Desc","price":19.99,"stock":2,"category":"%3$s","specs":{"%4$s":"4GB"}}
+                {"sku":"%1$s-B","name":"Json B","description":"Desc","price":5,"stock":1,"category":"%3$s"}
+                """.formatted(sku, token, category.getName(), spec);
+
+        ProductImportResultDTO result = productImportService.importProducts(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), FileFormat.NDJSON);
+
+        assertThat(result.created()).isEqualTo(2);
+        assertThat(result.failed()).isZero();
+        assertThat(productRepository.findBySku(sku + "-B")).isPresent();
+    }
+
+    private ProductImportResultDTO importCsv(String... lines) throws Exception {
+        byte[] csv = (String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8);
+        return productImportService.importProducts(new ByteArrayInputStream(csv), FileFormat.CSV);
+    }
+}
@@ -0,0 +1,54 @@
+package gr.aueb.cf.webstore.service;
+
+import gr.aueb.cf.webstore.core.filters.ProductFilters;
+import gr.aueb.cf.webstore.core.search.ProductFacetIndex;
+import gr.aueb.cf.webstore.core.search.ProductIndexBroadcast;
+import gr.aueb.cf.webstore.core.search.ProductSearchIndex;
+import gr.aueb.cf.webstore.model.Category;
+import gr.aueb.cf.webstore.model.Product;
+import gr.aueb.cf.webstore.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The fixtures write straight through the repository, like a product written on another node:
+ * this node's indexes only learn about it from the broadcast.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class ProductIndexBroadcastTest {
+
+    @Autowired
+    private ProductIndexBroadcast productIndexBroadcast;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductFacetIndex productFacetIndex;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void messageFromAnotherNodeReindexesTheNamedProducts() {
+        String word = TestFixtures.unique("remote").replace("-", "");
+        String brand = TestFixtures.unique("brand");
+        Category category = fixtures.category();
+        Product first = fixtures.product(category, "Gadget " + word, brand, 1);
+        Product second = fixtures.product(category, "Gadget " + word, brand, 1);
+
+        assertThat(productSearchIndex.search(word, 10)).isEmpty();
+
+        productIndexBroadcast.onMessage("other-node|" + first.getId() + "," + second.getId());
+
+        assertThat(productSearchIndex.search(word, 10)).containsExactlyInAnyOrder(first.getId(), second.getId());
+        assertThat(productFacetIndex.facets(ProductFilters.builder().brand(brand).build(), null).total()).isEqualTo(2);
+    }
+}
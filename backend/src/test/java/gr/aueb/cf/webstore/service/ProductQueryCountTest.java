@@ -0,0 +1,125 @@
+package gr.aueb.cf.webstore.service;
+
+import gr.aueb.cf.webstore.core.filters.Paginated;
+import gr.aueb.cf.webstore.core.filters.ProductFilters;
+import gr.aueb.cf.webstore.core.search.ProductSearchIndex;
+import gr.aueb.cf.webstore.dto.ProductReadOnlyDTO;
+import gr.aueb.cf.webstore.model.Category;
+import gr.aueb.cf.webstore.model.Product;
+import gr.aueb.cf.webstore.model.ProductSpec;
+import gr.aueb.cf.webstore.repository.ProductSpecRepository;
+import gr.aueb.cf.webstore.support.TestFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the product read paths against N+1: the number of statements for a page must not grow with its size.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class ProductQueryCountTest {
+
+    private static final int SMALL_PAGE = 5;
+    private static final int LARGE_PAGE = 40;
+
+    @Autowired
+    private IProductService productService;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductSpecRepository productSpecRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Category category;
+    private String word;
+
+    @BeforeEach
+    void createProducts() {
+        category = fixtures.category();
+        word = TestFixtures.unique("qc").replace("-", "");
+
+        List<Long> ids = new ArrayList<>();
+        List<ProductSpec> specs = new ArrayList<>();
+
+        for (int i = 0; i < LARGE_PAGE; i++) {
+            Product product = fixtures.product(category, "Counted " + word + " " + i, null, 1);
+            ids.add(product.getId());
+
+            for (String name : List.of("Color", "Weight")) {
+                ProductSpec spec = new ProductSpec();
+                spec.setProduct(product);
+                spec.setName(name);
+                spec.setValue(name + " " + i);
+                specs.add(spec);
+            }
+        }
+
+        productSpecRepository.saveAll(specs);
+        productSearchIndex.reindex(ids);
+    }
+
+    @Test
+    void paginatedProductsLoadInConstantQueries() throws Exception {
+        assertConstant(size -> () -> productService.getPaginatedProducts(0, size));
+    }
+
+    @Test
+    void filteredProductsLoadInConstantQueries() throws Exception {
+        assertConstant(size -> () -> productService.getProductsFilteredPaginated(filters(size, null)));
+    }
+
+    @Test
+    void textSearchLoadsInConstantQueries() throws Exception {
+        assertConstant(size -> () -> productService.getProductsFilteredPaginated(filters(size, word)));
+    }
+
+    private void assertConstant(PageCall call) throws Exception {
+        long small = statements(call.page(SMALL_PAGE), SMALL_PAGE);
+        long large = statements(call.page(LARGE_PAGE), LARGE_PAGE);
+
+        assertThat(large).isEqualTo(small);
+    }
+
+    private long statements(Callable<Paginated<ProductReadOnlyDTO>> call, int expectedSize) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Paginated<ProductReadOnlyDTO> page = call.call();
+
+        assertThat(page.getData()).hasSize(expectedSize);
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private ProductFilters filters(int size, String text) {
+        ProductFilters filters = ProductFilters.builder().category(category.getName()).text(text).build();
+        filters.setPageSize(size);
+        return filters;
+    }
+
+    @FunctionalInterface
+    private interface PageCall {
+        Callable<Paginated<ProductReadOnlyDTO>> page(int size);
+    }
+}
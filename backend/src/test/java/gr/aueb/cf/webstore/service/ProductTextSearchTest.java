@@ -0,0 +1,110 @@
+package gr.aueb.cf.webstore.service;
+
+import gr.aueb.cf.webstore.core.exceptions.AppObjectInvalidArgumentException;
+import gr.aueb.cf.webstore.core.filters.Paginated;
+import gr.aueb.cf.webstore.core.filters.ProductFilters;
+import gr.aueb.cf.webstore.core.search.ProductSearchIndex;
+import gr.aueb.cf.webstore.dto.ProductReadOnlyDTO;
+import gr.aueb.cf.webstore.model.Category;
+import gr.aueb.cf.webstore.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class ProductTextSearchTest {
+
+    private static final int MATCHES = 25;
+    private static final int BRANDED = 3;
+
+    @Autowired
+    private IProductService productService;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private String word;
+    private String brand;
+
+    @BeforeEach
+    void createProducts() {
+        word = TestFixtures.unique("tx").replace("-", "");
+        brand = TestFixtures.unique("brand");
+        Category category = fixtures.category();
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < MATCHES; i++) {
+            ids.add(fixtures.product(category, "Widget " + word + " " + i, i < BRANDED ? brand : null, 1).getId());
+        }
+
+        productSearchIndex.reindex(ids);
+    }
+
+    @Test
+    void pagesThroughTheRankedMatches() throws Exception {
+        Paginated<ProductReadOnlyDTO> first = productService.getProductsFilteredPaginated(filters(0));
+        Paginated<ProductReadOnlyDTO> last = productService.getProductsFilteredPaginated(filters(2));
+
+        assertThat(first.getTotalElements()).isEqualTo(MATCHES);
+        assertThat(first.getData()).hasSize(10);
+        assertThat(first.isTruncated()).isFalse();
+        assertThat(last.getData()).hasSize(5);
+        assertThat(last.getData()).extracting(ProductReadOnlyDTO::id)
+                .doesNotContainAnyElementsOf(first.getData().stream().map(ProductReadOnlyDTO::id).toList());
+    }
+
+    @Test
+    void filtersApplyBeforeThePageIsCut() throws Exception {
+        ProductFilters filters = filters(0);
+        filters.setBrand(brand);
+
+        Paginated<ProductReadOnlyDTO> page = productService.getProductsFilteredPaginated(filters);
+
+        assertThat(page.getTotalElements()).isEqualTo(BRANDED);
+        assertThat(page.getData()).extracting(ProductReadOnlyDTO::brand).containsOnly(brand);
+    }
+
+    @Test
+    void skipCountReturnsASliceWithoutTotals() throws Exception {
+        ProductFilters filters = filters(1);
+        filters.setSkipCount(true);
+
+        Paginated<ProductReadOnlyDTO> page = productService.getProductsFilteredPaginated(filters);
+
+        assertThat(page.getTotalElements()).isEqualTo(-1);
+        assertThat(page.getData()).hasSize(10);
+        assertThat(page.isHasNext()).isTrue();
+    }
+
+    @Test
+    void cursorAndSortAreRejected() {
+        ProductFilters cursor = filters(0);
+        cursor.setCursor("");
+        ProductFilters sorted = filters(0);
+        sorted.setSortBy("price");
+
+        assertThatThrownBy(() -> productService.getProductsFilteredPaginated(cursor)).isInstanceOf(AppObjectInvalidArgumentException.class);
+        assertThatThrownBy(() -> productService.getProductsFilteredPaginated(sorted)).isInstanceOf(AppObjectInvalidArgumentException.class);
+    }
+
+    private ProductFilters filters(int page) {
+        ProductFilters filters = ProductFilters.builder().text(word).build();
+        filters.setPage(page);
+        filters.setPageSize(10);
+        return filters;
+    }
+}
@@ -0,0 +1,97 @@
+package gr.aueb.cf.webstore.service;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetup;
+import gr.aueb.cf.webstore.core.enums.Role;
+import gr.aueb.cf.webstore.dto.OrderItemInsertDTO;
+import gr.aueb.cf.webstore.model.Category;
+import gr.aueb.cf.webstore.model.Order;
+import gr.aueb.cf.webstore.model.User;
+import gr.aueb.cf.webstore.repository.OrderRepository;
+import gr.aueb.cf.webstore.support.TestFixtures;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends a burst of order confirmations through the pooled sender to an in-process SMTP server on the
+ * test profile's port and logs mails per second. Every mail must arrive, and the burst must reuse the
+ * pooled sessions instead of opening a connection per mail.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class SmtpThroughputTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpThroughputTest.class);
+
+    private static final int MAILS = 300;
+    private static final int SENDERS = 8;
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(new ServerSetup(3025, null, ServerSetup.PROTOCOL_SMTP))
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Autowired
+    private IEmailService emailService;
+
+    @Autowired
+    private IOrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void burstOfOrderConfirmationsReusesPooledConnections() throws Exception {
+        User user = fixtures.user(Role.USER);
+        Category category = fixtures.category();
+        List<OrderItemInsertDTO> items = List.of(
+                new OrderItemInsertDTO(fixtures.product(category, 100).getId(), 1),
+                new OrderItemInsertDTO(fixtures.product(category, 100).getId(), 2));
+
+        Order order = orderRepository.findWithDetailsById(orderService.createOrder(TestFixtures.order(user, items)).id()).orElseThrow();
+        double connectionsBefore = meterRegistry.counter("email.smtp.connections").count();
+
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(SENDERS)) {
+            List<Future<?>> sends = new ArrayList<>();
+            for (int i = 0; i < MAILS; i++) {
+                sends.add(executor.submit(() -> emailService.sendOrderConfirmation(order)));
+            }
+            for (Future<?> send : sends) {
+                send.get();
+            }
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double connections = meterRegistry.counter("email.smtp.connections").count() - connectionsBefore;
+        log.info("Sent {} order confirmations in {} s ({} mails/s) over {} SMTP connections",
+                MAILS, String.format("%.2f", seconds), String.format("%.0f", MAILS / seconds), (long) connections);
+
+        assertThat(greenMail.waitForIncomingEmail(10_000, MAILS)).isTrue();
+        assertThat(greenMail.getReceivedMessagesForDomain(user.getEmail())).hasSize(MAILS);
+        assertThat(connections).isLessThanOrEqualTo(2);
+    }
+}
@@ -0,0 +1,110 @@
+package gr.aueb.cf.webstore.service;
+
+import gr.aueb.cf.webstore.core.enums.Role;
+import gr.aueb.cf.webstore.core.exceptions.AppObjectInvalidArgumentException;
+import gr.aueb.cf.webstore.dto.TwoFactorVerificationRequestDTO;
+import gr.aueb.cf.webstore.model.User;
+import gr.aueb.cf.webstore.support.TestFixtures;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+class TwoFactorServiceTest {
+
+    private static final RedisServer REDIS = startRedis();
+
+    @Autowired
+    private ITwoFactorService twoFactorService;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.port", () -> REDIS.ports().get(0));
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        REDIS.stop();
+    }
+
+    @Test
+    void challengeVerifiesOnceWithTheRightCode() throws Exception {
+        User user = fixtures.user(Role.USER);
+        String token = twoFactorService.createTwoFactorChallenge(user.getEmail(), "EMAIL").twoFactorToken();
+
+        assertThat(twoFactorService.verifyTwoFactorCode(new TwoFactorVerificationRequestDTO(token, code(token))))
+                .isEqualTo(user.getEmail());
+        assertThatThrownBy(() -> twoFactorService.verifyTwoFactorCode(new TwoFactorVerificationRequestDTO(token, "000000")))
+                .isInstanceOf(AppObjectInvalidArgumentException.class);
+    }
+
+    @Test
+    void allKeysOfAUserShareOneHashTag() throws Exception {
+        User user = fixtures.user(Role.USER);
+        String token = twoFactorService.createTwoFactorChallenge(user.getEmail(), "EMAIL").twoFactorToken();
+        String tag = "{" + token.substring(0, token.indexOf('.')) + "}";
+
+        Set<String> keys = redisTemplate.keys("*" + tag + "*");
+
+        assertThat(keys).hasSize(2).allMatch(key -> key.contains(tag));
+    }
+
+    @Test
+    void repeatedWrongCodesLockTheUserOut() throws Exception {
+        User user = fixtures.user(Role.USER);
+        String token = twoFactorService.createTwoFactorChallenge(user.getEmail(), "EMAIL").twoFactorToken();
+        String wrongCode = code(token).equals("000000") ? "111111" : "000000";
+
+        for (int attempt = 1; attempt < 5; attempt++) {
+            assertThatThrownBy(() -> twoFactorService.verifyTwoFactorCode(new TwoFactorVerificationRequestDTO(token, wrongCode)))
+                    .hasFieldOrPropertyWithValue("code", "Invalid two-factor code");
+        }
+
+        assertThatThrownBy(() -> twoFactorService.verifyTwoFactorCode(new TwoFactorVerificationRequestDTO(token, wrongCode)))
+                .hasFieldOrPropertyWithValue("code", "Too many failed attempts, please try again later");
+        assertThatThrownBy(() -> twoFactorService.createTwoFactorChallenge(user.getEmail(), "EMAIL"))
+                .hasFieldOrPropertyWithValue("code", "Too many failed attempts, please try again later");
+    }
+
+    private String code(String token) {
+        String tag = token.substring(0, token.indexOf('.'));
+        String secret = token.substring(token.indexOf('.') + 1);
+
+        return (String) redisTemplate.opsForHash().get("2f:{" + tag + "}" + secret, "c");
+    }
+
+    private static RedisServer startRedis() {
+
+        try (ServerSocket socket = new ServerSocket(0)) {
+            RedisServer server = new RedisServer(socket.getLocalPort());
+            socket.close();
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package gr.aueb.cf.webstore.support;
+
+import gr.aueb.cf.webstore.core.enums.Role;
+import gr.aueb.cf.webstore.dto.AddressDTO;
+import gr.aueb.cf.webstore.dto.OrderInsertDTO;
+import gr.aueb.cf.webstore.dto.OrderItemInsertDTO;
+import gr.aueb.cf.webstore.model.Category;
+import gr.aueb.cf.webstore.model.Product;
+import gr.aueb.cf.webstore.model.User;
+import gr.aueb.cf.webstore.repository.CategoryRepository;
+import gr.aueb.cf.webstore.repository.ProductRepository;
+import gr.aueb.cf.webstore.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Creates uniquely named rows so tests sharing one in-memory database never collide.
+ */
+@TestComponent
+public class TestFixtures {
+
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+
+    @Autowired
+    public TestFixtures(UserRepository userRepository, CategoryRepository categoryRepository, ProductRepository productRepository) {
+        this.userRepository = userRepository;
+        this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+    }
+
+    public static String unique(String prefix) {
+        return prefix + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public User user(Role role) {
+        String name = unique("user");
+
+        return userRepository.save(User.builder()
+                .role(role)
+                .isActive(true)
+                .emailVerified(true)
+                .firstname("Test")
+                .lastname("User")
+                .email(name + "@test.local")
+                .password("{noop}secret")
+                .orders(new HashSet<>())
+                .build());
+    }
+
+    public Category category() {
+        return categoryRepository.save(Category.builder()
+                .name(unique("category"))
+                .isActive(true)
+                .products(new HashSet<>())
+                .build());
+    }
+
+    public Product product(Category category, int stock) {
+        return product(category, unique("product"), null, stock);
+    }
+
+    public Product product(Category category, String name, String brand, int stock) {
+        return productRepository.save(Product.builder()
+                .category(category)
+                .name(name)
+                .description("Test product " + name)
+                .price(new BigDecimal("10.00"))
+                .stock(stock)
+                .isActive(true)
+                .sku(unique("SKU"))
+                .brand(brand)
+                .productSpecs(new HashSet<>())
+                .build());
+    }
+
+    public static OrderInsertDTO order(User user, List<OrderItemInsertDTO> items) {
+        return new OrderInsertDTO(user.getUuid(), new AddressDTO("Main 1", "Athens", "10558", "GR"), items);
+    }
+}